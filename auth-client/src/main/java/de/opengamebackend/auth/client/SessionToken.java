@@ -0,0 +1,45 @@
+package de.opengamebackend.auth.client;
+
+import java.util.List;
+
+/**
+ * Verified contents of a session token issued by the auth service.
+ */
+public class SessionToken {
+    private final String playerId;
+    private final List<String> roles;
+    private final boolean locked;
+    private final long expiresAt;
+
+    public SessionToken(String playerId, List<String> roles, boolean locked, long expiresAt) {
+        this.playerId = playerId;
+        this.roles = roles;
+        this.locked = locked;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    public boolean isLocked() {
+        return locked;
+    }
+
+    /**
+     * Gets the time this token expires at.
+     *
+     * @return Expiration time, in seconds since the epoch.
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+}
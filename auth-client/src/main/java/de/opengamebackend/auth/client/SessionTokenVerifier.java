@@ -0,0 +1,168 @@
+package de.opengamebackend.auth.client;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies session tokens issued by the auth service, without calling the auth service.
+ *
+ * Tokens consist of the Base64url-encoded payload and its HMAC-SHA256 signature, separated by a dot. The payload is
+ * made up of the following UTF-8 lines:
+ * <ol>
+ *     <li>token format version ({@value #VERSION})</li>
+ *     <li>player id</li>
+ *     <li>comma-separated player roles</li>
+ *     <li>1 if the player is locked, and 0 otherwise</li>
+ *     <li>expiration time, in seconds since the epoch</li>
+ * </ol>
+ *
+ * Verified tokens are cached until they expire, so verifying the same token again only costs a map lookup. Instances
+ * are thread-safe and meant to be shared.
+ */
+public class SessionTokenVerifier {
+    public static final String HEADER = "X-Session-Token";
+    public static final String VERSION = "1";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int DEFAULT_CACHE_SIZE = 10000;
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+    private final Clock clock;
+
+    private final int cacheSize;
+    private final Map<String, SessionToken> cache;
+
+    /**
+     * Creates a new verifier for tokens signed with the specified secret.
+     *
+     * @param secret Base64-encoded secret the auth service signs tokens with.
+     */
+    public SessionTokenVerifier(String secret) {
+        this(Base64.getDecoder().decode(secret), DEFAULT_CACHE_SIZE, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new verifier for tokens signed with the specified secret.
+     *
+     * @param secret Secret the auth service signs tokens with.
+     * @param cacheSize Maximum number of verified tokens to remember.
+     * @param clock Clock to check token expiration against.
+     */
+    public SessionTokenVerifier(byte[] secret, int cacheSize, Clock clock) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::createMac);
+        this.clock = clock;
+
+        this.cacheSize = cacheSize;
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Verifies the signature and expiration time of the specified token.
+     *
+     * @param token Token to verify.
+     * @return Contents of the token, or null if the token is invalid or has expired.
+     */
+    public SessionToken verify(String token) {
+        if (token == null) {
+            return null;
+        }
+
+        long now = clock.millis() / 1000L;
+
+        SessionToken cached = cache.get(token);
+
+        if (cached != null) {
+            if (cached.getExpiresAt() > now) {
+                return cached;
+            }
+
+            cache.remove(token);
+            return null;
+        }
+
+        SessionToken sessionToken = parse(token);
+
+        if (sessionToken == null || sessionToken.getExpiresAt() <= now) {
+            return null;
+        }
+
+        if (cacheSize > 0) {
+            if (cache.size() >= cacheSize) {
+                evict(now);
+            }
+
+            cache.put(token, sessionToken);
+        }
+
+        return sessionToken;
+    }
+
+    private SessionToken parse(String token) {
+        int separator = token.indexOf('.');
+
+        if (separator < 0) {
+            return null;
+        }
+
+        byte[] payload;
+        byte[] signature;
+
+        try {
+            payload = Base64.getUrlDecoder().decode(token.substring(0, separator));
+            signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        if (!MessageDigest.isEqual(mac.get().doFinal(payload), signature)) {
+            return null;
+        }
+
+        String[] lines = new String(payload, StandardCharsets.UTF_8).split("\n", -1);
+
+        if (lines.length != 5 || !VERSION.equals(lines[0])) {
+            return null;
+        }
+
+        List<String> roles = lines[2].isEmpty()
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(Arrays.asList(lines[2].split(",")));
+
+        try {
+            return new SessionToken(lines[1], roles, "1".equals(lines[3]), Long.parseLong(lines[4]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void evict(long now) {
+        // Drop expired tokens first. If all tokens are still valid, start over rather than tracking access order.
+        cache.values().removeIf(t -> t.getExpiresAt() <= now);
+
+        if (cache.size() >= cacheSize) {
+            cache.clear();
+        }
+    }
+
+    private Mac createMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize session token verification.", e);
+        }
+    }
+}
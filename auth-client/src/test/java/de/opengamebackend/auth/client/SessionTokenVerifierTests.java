@@ -0,0 +1,132 @@
+package de.opengamebackend.auth.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SessionTokenVerifierTests {
+    private static final byte[] SECRET = "testSecretWithEnoughBytesForHmac".getBytes(StandardCharsets.UTF_8);
+    private static final long NOW = 1600000000L;
+
+    private SessionTokenVerifier verifier;
+
+    @BeforeEach
+    public void setUp() {
+        Clock clock = Clock.fixed(Instant.ofEpochSecond(NOW), ZoneOffset.UTC);
+        verifier = new SessionTokenVerifier(SECRET, 2, clock);
+    }
+
+    @Test
+    public void givenValidToken_whenVerify_thenReturnContents() throws Exception {
+        // GIVEN
+        String token = sign(SECRET, "1\ntestPlayerId\nROLE_USER,ROLE_ADMIN\n1\n" + (NOW + 60));
+
+        // WHEN
+        SessionToken sessionToken = verifier.verify(token);
+
+        // THEN
+        assertThat(sessionToken).isNotNull();
+        assertThat(sessionToken.getPlayerId()).isEqualTo("testPlayerId");
+        assertThat(sessionToken.getRoles()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(sessionToken.hasRole("ROLE_ADMIN")).isTrue();
+        assertThat(sessionToken.isLocked()).isTrue();
+        assertThat(sessionToken.getExpiresAt()).isEqualTo(NOW + 60);
+    }
+
+    @Test
+    public void givenTokenWithoutRoles_whenVerify_thenReturnNoRoles() throws Exception {
+        // GIVEN
+        String token = sign(SECRET, "1\ntestPlayerId\n\n0\n" + (NOW + 60));
+
+        // WHEN
+        SessionToken sessionToken = verifier.verify(token);
+
+        // THEN
+        assertThat(sessionToken).isNotNull();
+        assertThat(sessionToken.getRoles()).isEmpty();
+        assertThat(sessionToken.isLocked()).isFalse();
+    }
+
+    @Test
+    public void givenExpiredToken_whenVerify_thenReturnNull() throws Exception {
+        // GIVEN
+        String token = sign(SECRET, "1\ntestPlayerId\nROLE_USER\n0\n" + NOW);
+
+        // WHEN & THEN
+        assertThat(verifier.verify(token)).isNull();
+    }
+
+    @Test
+    public void givenTokenSignedWithOtherSecret_whenVerify_thenReturnNull() throws Exception {
+        // GIVEN
+        byte[] otherSecret = "otherSecretWithEnoughBytesForHmac".getBytes(StandardCharsets.UTF_8);
+        String token = sign(otherSecret, "1\ntestPlayerId\nROLE_USER\n0\n" + (NOW + 60));
+
+        // WHEN & THEN
+        assertThat(verifier.verify(token)).isNull();
+    }
+
+    @Test
+    public void givenTamperedToken_whenVerify_thenReturnNull() throws Exception {
+        // GIVEN
+        String token = sign(SECRET, "1\ntestPlayerId\nROLE_USER\n0\n" + (NOW + 60));
+        String signature = token.substring(token.indexOf('.'));
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("1\ntestPlayerId\nROLE_ADMIN\n0\n" + (NOW + 60)).getBytes(StandardCharsets.UTF_8));
+
+        // WHEN & THEN
+        assertThat(verifier.verify(payload + signature)).isNull();
+    }
+
+    @Test
+    public void givenUnknownVersion_whenVerify_thenReturnNull() throws Exception {
+        // GIVEN
+        String token = sign(SECRET, "2\ntestPlayerId\nROLE_USER\n0\n" + (NOW + 60));
+
+        // WHEN & THEN
+        assertThat(verifier.verify(token)).isNull();
+    }
+
+    @Test
+    public void givenMalformedToken_whenVerify_thenReturnNull() {
+        assertThat(verifier.verify(null)).isNull();
+        assertThat(verifier.verify("")).isNull();
+        assertThat(verifier.verify("no-separator")).isNull();
+        assertThat(verifier.verify("!!!.???")).isNull();
+    }
+
+    @Test
+    public void givenFullCache_whenVerify_thenVerifyTokens() throws Exception {
+        // GIVEN
+        String token1 = sign(SECRET, "1\nplayer1\nROLE_USER\n0\n" + (NOW + 60));
+        String token2 = sign(SECRET, "1\nplayer2\nROLE_USER\n0\n" + (NOW + 60));
+        String token3 = sign(SECRET, "1\nplayer3\nROLE_USER\n0\n" + (NOW + 60));
+
+        // WHEN
+        verifier.verify(token1);
+        verifier.verify(token2);
+
+        // THEN
+        assertThat(verifier.verify(token3).getPlayerId()).isEqualTo("player3");
+        assertThat(verifier.verify(token1).getPlayerId()).isEqualTo("player1");
+    }
+
+    static String sign(byte[] secret, String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+        return encoder.encodeToString(payloadBytes) + "." + encoder.encodeToString(mac.doFinal(payloadBytes));
+    }
+}
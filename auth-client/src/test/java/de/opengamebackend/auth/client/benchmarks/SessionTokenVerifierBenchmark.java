@@ -0,0 +1,67 @@
+package de.opengamebackend.auth.client.benchmarks;
+
+import de.opengamebackend.auth.client.SessionToken;
+import de.opengamebackend.auth.client.SessionTokenVerifier;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures session token verification throughput. Runs single-threaded by default, yielding throughput per core;
+ * pass e.g. -t 4 to measure contention on the shared cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class SessionTokenVerifierBenchmark {
+    private static final byte[] SECRET = "benchmarkSecretWithEnoughBytes!!".getBytes(StandardCharsets.UTF_8);
+    private static final int TOKEN_COUNT = 1024;
+
+    private SessionTokenVerifier cachingVerifier;
+    private SessionTokenVerifier nonCachingVerifier;
+
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        cachingVerifier = new SessionTokenVerifier(SECRET, TOKEN_COUNT * 2, Clock.systemUTC());
+        nonCachingVerifier = new SessionTokenVerifier(SECRET, 0, Clock.systemUTC());
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        long expiresAt = System.currentTimeMillis() / 1000L + 3600;
+
+        tokens = new String[TOKEN_COUNT];
+
+        for (int i = 0; i < TOKEN_COUNT; ++i) {
+            byte[] payload = ("1\n" + UUID.randomUUID() + "\nROLE_USER\n0\n" + expiresAt).getBytes(StandardCharsets.UTF_8);
+            tokens[i] = encoder.encodeToString(payload) + "." + encoder.encodeToString(mac.doFinal(payload));
+        }
+    }
+
+    @Benchmark
+    public SessionToken verifyCached() {
+        return cachingVerifier.verify(nextToken());
+    }
+
+    @Benchmark
+    public SessionToken verifyUncached() {
+        return nonCachingVerifier.verify(nextToken());
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(TOKEN_COUNT)];
+    }
+}
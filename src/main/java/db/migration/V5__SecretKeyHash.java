@@ -0,0 +1,58 @@
+package db.migration;
+
+import com.google.common.hash.Hashing;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Replaces the plaintext secret keys by their key ids and SHA-256 digests.
+ *
+ * Written in Java because MariaDB and H2 don't share a SHA-256 function. Existing keys stay valid, as their ids are
+ * derived the same way as for new keys.
+ */
+public class V5__SecretKeyHash extends BaseJavaMigration {
+    private static final int KEY_ID_LENGTH = 16;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE auth_secretkey_hash (" +
+                    "key_id VARCHAR(16) NOT NULL, " +
+                    "key_hash BINARY(32) NOT NULL, " +
+                    "PRIMARY KEY (key_id))");
+        }
+
+        try (Statement select = connection.createStatement();
+             ResultSet keys = select.executeQuery("SELECT secret_key FROM auth_secretkey");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO auth_secretkey_hash (key_id, key_hash) VALUES (?, ?)")) {
+            while (keys.next()) {
+                String key = keys.getString(1);
+
+                // Keys too short to have an id couldn't have been generated by this application.
+                if (key.length() < KEY_ID_LENGTH) {
+                    continue;
+                }
+
+                insert.setString(1, key.substring(0, KEY_ID_LENGTH));
+                insert.setBytes(2, Hashing.sha256().hashString(key, StandardCharsets.UTF_8).asBytes());
+                insert.addBatch();
+            }
+
+            insert.executeBatch();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE auth_secretkey");
+            statement.execute("ALTER TABLE auth_secretkey_hash RENAME TO auth_secretkey");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Changes player ids from strings to BINARY(16).
+ *
+ * Existing ids are random UUIDs, which are converted to their binary form and thus keep their string form in the API.
+ * Written in Java because MariaDB and H2 don't share a function for parsing them. Both tables are copied instead of
+ * altered in place, as the names of their foreign keys differ between databases.
+ */
+public class V6__BinaryPlayerId extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE auth_player_binary (" +
+                    "id BINARY(16) NOT NULL, " +
+                    "provider VARCHAR(100) NOT NULL, " +
+                    "provider_user_id VARCHAR(100) NOT NULL, " +
+                    "locked BIT(1) NOT NULL, " +
+                    "PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE auth_player_roles_binary (" +
+                    "players_id BINARY(16) NOT NULL, " +
+                    "roles_name VARCHAR(100) NOT NULL, " +
+                    "PRIMARY KEY (players_id, roles_name))");
+        }
+
+        try (Statement select = connection.createStatement();
+             ResultSet players = select.executeQuery(
+                     "SELECT id, provider, provider_user_id, locked FROM auth_player");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO auth_player_binary (id, provider, provider_user_id, locked) VALUES (?, ?, ?, ?)")) {
+            int batched = 0;
+
+            while (players.next()) {
+                insert.setBytes(1, toBytes(players.getString(1)));
+                insert.setString(2, players.getString(2));
+                insert.setString(3, players.getString(3));
+                insert.setBoolean(4, players.getBoolean(4));
+                insert.addBatch();
+
+                if (++batched % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+
+            insert.executeBatch();
+        }
+
+        try (Statement select = connection.createStatement();
+             ResultSet roles = select.executeQuery("SELECT players_id, roles_name FROM auth_player_roles");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO auth_player_roles_binary (players_id, roles_name) VALUES (?, ?)")) {
+            int batched = 0;
+
+            while (roles.next()) {
+                insert.setBytes(1, toBytes(roles.getString(1)));
+                insert.setString(2, roles.getString(2));
+                insert.addBatch();
+
+                if (++batched % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+
+            insert.executeBatch();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE auth_player_roles");
+            statement.execute("DROP TABLE auth_player");
+
+            statement.execute("ALTER TABLE auth_player_binary RENAME TO auth_player");
+            statement.execute("ALTER TABLE auth_player_roles_binary RENAME TO auth_player_roles");
+
+            statement.execute("ALTER TABLE auth_player " +
+                    "ADD CONSTRAINT auth_player_unique UNIQUE (provider, provider_user_id)");
+            statement.execute("CREATE INDEX ix_auth_player_provider_provider_user_id " +
+                    "ON auth_player (provider, provider_user_id)");
+
+            statement.execute("ALTER TABLE auth_player_roles " +
+                    "ADD FOREIGN KEY (players_id) REFERENCES auth_player(id)");
+            statement.execute("ALTER TABLE auth_player_roles " +
+                    "ADD FOREIGN KEY (roles_name) REFERENCES auth_role(name)");
+        }
+    }
+
+    private static byte[] toBytes(String id) {
+        UUID uuid;
+
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            // Not generated by this application, but keep the player and their roles together anyway.
+            uuid = UUID.nameUUIDFromBytes(id.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -1,7 +1,10 @@
 package de.opengamebackend.auth;
 
+import de.opengamebackend.auth.controller.providers.ProviderOverloadedException;
+import de.opengamebackend.auth.ratelimit.RateLimitExceededException;
 import de.opengamebackend.net.ErrorResponse;
 import de.opengamebackend.net.ApiException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -14,4 +17,16 @@ public class GlobalControllerExceptionHandler {
         ErrorResponse errorResponse = new ErrorResponse(e.getErrorCode(), e.getMessage());
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Void> handleRateLimitExceededException(RateLimitExceededException e) {
+        return new ResponseEntity<>(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(ProviderOverloadedException.class)
+    public ResponseEntity<Void> handleProviderOverloadedException(ProviderOverloadedException e) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()));
+        return new ResponseEntity<>(headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
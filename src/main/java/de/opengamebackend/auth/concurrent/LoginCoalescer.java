@@ -0,0 +1,80 @@
+package de.opengamebackend.auth.concurrent;
+
+import com.google.common.base.Strings;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import de.opengamebackend.auth.model.requests.LoginRequest;
+import de.opengamebackend.auth.model.responses.LoginResponse;
+import de.opengamebackend.net.ApiException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Processes identical logins (same provider, key, context and role) arriving at the same time only once, sharing the
+ * result among all of them. Logins differing in any field of the request are processed separately, as each of them
+ * may affect the result.
+ *
+ * This prevents clients retrying aggressively from calling auth providers over and over again, e.g. spending one-time
+ * codes that are being spent by the first attempt. Results are never reused once a login has completed, as they carry
+ * a session token: a later retry is processed again, and fails if the player has been locked, or the secret key has
+ * been removed in between.
+ */
+@Component
+public class LoginCoalescer {
+    public static final String COALESCED_COUNTER = "auth.login.coalesced";
+
+    private final SingleFlight<HashCode, LoginResponse> logins;
+
+    @Autowired
+    public LoginCoalescer(LoginCoalescingConfig config, MeterRegistry meterRegistry) {
+        if (config.isEnabled()) {
+            SingleFlight<HashCode, LoginResponse> logins =
+                    new SingleFlight<>(config.getMaxPending());
+
+            FunctionCounter.builder(COALESCED_COUNTER, logins, SingleFlight::getJoinedPending)
+                    .description("Number of logins that have joined an identical login in flight.")
+                    .tag("result", "pending")
+                    .register(meterRegistry);
+
+            this.logins = logins;
+        } else {
+            this.logins = null;
+        }
+    }
+
+    /**
+     * Gets the result of the specified login, processing it only if no identical login is in flight.
+     *
+     * @param request Login to process.
+     * @param login Processes the login if needed.
+     * @return Result of the login.
+     * @throws ApiException If the login has been processed by this thread, and failed before even starting.
+     */
+    public CompletableFuture<LoginResponse> coalesce(LoginRequest request,
+                                                     SingleFlight.Call<LoginResponse, ApiException> login)
+            throws ApiException {
+        if (logins == null) {
+            return login.execute();
+        }
+
+        return logins.execute(keyOf(request), login);
+    }
+
+    private static HashCode keyOf(LoginRequest request) {
+        // Hash credentials instead of keeping them in memory, and to bound the size of each key.
+        return Hashing.sha256().newHasher()
+                .putString(Strings.nullToEmpty(request.getProvider()), StandardCharsets.UTF_8)
+                .putByte((byte)0)
+                .putString(Strings.nullToEmpty(request.getKey()), StandardCharsets.UTF_8)
+                .putByte((byte)0)
+                .putString(Strings.nullToEmpty(request.getContext()), StandardCharsets.UTF_8)
+                .putByte((byte)0)
+                .putString(Strings.nullToEmpty(request.getRole()), StandardCharsets.UTF_8)
+                .hash();
+    }
+}
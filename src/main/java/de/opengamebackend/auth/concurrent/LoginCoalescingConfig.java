@@ -0,0 +1,32 @@
+package de.opengamebackend.auth.concurrent;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConstructorBinding
+@ConfigurationProperties("de.opengamebackend.auth.login.coalescing")
+public class LoginCoalescingConfig {
+    private boolean enabled;
+    private int maxPending;
+
+    public LoginCoalescingConfig(@DefaultValue("true") boolean enabled,
+                                 @DefaultValue("10000") int maxPending) {
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Gets whether identical logins arriving at the same time should only be processed once.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the maximum number of distinct logins to track while in flight. Further logins are processed on their own.
+     */
+    public int getMaxPending() {
+        return maxPending;
+    }
+}
@@ -0,0 +1,50 @@
+package de.opengamebackend.auth.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs logins, including calls to auth providers and the database, on a new virtual thread each, if enabled. This
+ * frees the Tomcat worker thread as soon as the request has been read, so the number of logins in flight is no longer
+ * bound by the size of the worker pool.
+ *
+ * Otherwise, runs logins directly on the calling thread.
+ */
+@Component
+public class LoginExecutor implements Executor {
+    private final Logger logger = LoggerFactory.getLogger(LoginExecutor.class);
+
+    private final ExecutorService virtualThreadExecutor;
+
+    @Autowired
+    public LoginExecutor(VirtualThreadsConfig config) {
+        if (config.isEnabled()) {
+            logger.info("Running logins on virtual threads.");
+            this.virtualThreadExecutor = VirtualThreads.newThreadPerTaskExecutor("login-");
+        } else {
+            this.virtualThreadExecutor = null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.execute(command);
+        } else {
+            command.run();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package de.opengamebackend.auth.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares the result of an asynchronous call among all concurrent calls with the same key, so duplicate calls arriving
+ * at the same time are only executed once.
+ *
+ * Results are never kept after a call has completed, so a duplicate call arriving later is executed again and sees all
+ * changes made in between. Calls in flight are bounded: once there are too many, further calls are executed on their
+ * own.
+ *
+ * @param <K> Type of the keys identifying duplicate calls.
+ * @param <V> Type of the results of the calls.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> pending = new ConcurrentHashMap<>();
+    private final int maxPending;
+
+    private final LongAdder joinedPending = new LongAdder();
+
+    /**
+     * Creates a new group of calls.
+     *
+     * @param maxPending Maximum number of distinct calls to track while in flight.
+     */
+    public SingleFlight(int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Gets the result of the specified call, executing it only if no call with the same key is in flight.
+     *
+     * @param key Key identifying duplicate calls.
+     * @param call Call to execute if needed.
+     * @param <E> Type of the exception the call may throw before even starting.
+     * @return Result of the call. Fails like the call, if the call fails.
+     * @throws E If the call has been executed by this thread, and failed before even starting.
+     */
+    public <E extends Exception> CompletableFuture<V> execute(K key, Call<V, E> call) throws E {
+        if (pending.size() >= maxPending) {
+            return call.execute();
+        }
+
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = pending.putIfAbsent(key, promise);
+
+        if (existing != null) {
+            joinedPending.increment();
+
+            // Don't allow callers to complete the shared future.
+            return existing.copy();
+        }
+
+        CompletableFuture<V> future;
+
+        try {
+            future = call.execute();
+        } catch (Exception e) {
+            pending.remove(key, promise);
+            promise.completeExceptionally(e);
+            throw e;
+        }
+
+        future.whenComplete((value, throwable) -> {
+            pending.remove(key, promise);
+
+            if (throwable != null) {
+                promise.completeExceptionally(throwable);
+            } else {
+                promise.complete(value);
+            }
+        });
+
+        return promise.copy();
+    }
+
+    /**
+     * Gets the number of calls that have joined a duplicate call in flight.
+     */
+    public long getJoinedPending() {
+        return joinedPending.sum();
+    }
+
+    @FunctionalInterface
+    public interface Call<V, E extends Exception> {
+        CompletableFuture<V> execute() throws E;
+    }
+}
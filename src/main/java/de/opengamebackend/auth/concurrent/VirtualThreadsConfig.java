@@ -0,0 +1,23 @@
+package de.opengamebackend.auth.concurrent;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConstructorBinding
+@ConfigurationProperties("de.opengamebackend.auth.virtual-threads")
+public class VirtualThreadsConfig {
+    private boolean enabled;
+
+    public VirtualThreadsConfig(@DefaultValue("false") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets whether to handle requests and wait for auth providers on virtual threads instead of platform threads.
+     * Requires Java 21 or later.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -1,28 +1,72 @@
 package de.opengamebackend.auth.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.opengamebackend.auth.concurrent.LoginCoalescer;
+import de.opengamebackend.auth.controller.tokens.SessionTokenIssuer;
 import de.opengamebackend.auth.model.requests.LockPlayerRequest;
 import de.opengamebackend.auth.model.requests.LoginRequest;
+import de.opengamebackend.auth.model.requests.PlayerIdentity;
 import de.opengamebackend.auth.model.requests.UnlockPlayerRequest;
 import de.opengamebackend.auth.model.responses.*;
+import de.opengamebackend.auth.ratelimit.LoginRateLimiter;
 import de.opengamebackend.net.ApiErrors;
 import de.opengamebackend.net.ApiException;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPOutputStream;
+
 @RestController
 public class AuthController {
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final String CBOR = "application/cbor";
+    private static final int LOCK_PLAYERS_BATCH_SIZE = 1000;
+
     private AuthService authService;
+    private SessionTokenIssuer sessionTokenIssuer;
+    private LoginRateLimiter loginRateLimiter;
+    private LoginCoalescer loginCoalescer;
+    private ObjectWriter exportWriter;
+    private ObjectReader playerIdentityReader;
 
     @Autowired
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, SessionTokenIssuer sessionTokenIssuer,
+                          LoginRateLimiter loginRateLimiter, LoginCoalescer loginCoalescer,
+                          ObjectMapper objectMapper) {
         this.authService = authService;
+        this.sessionTokenIssuer = sessionTokenIssuer;
+        this.loginRateLimiter = loginRateLimiter;
+        this.loginCoalescer = loginCoalescer;
+        this.exportWriter = objectMapper.writerFor(ExportPlayersResponsePlayer.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.playerIdentityReader = objectMapper.readerFor(PlayerIdentity.class);
     }
 
     @GetMapping("/admin/players")
@@ -40,6 +84,59 @@ public class AuthController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @GetMapping(value = "/admin/players", params = "cursor")
+    @Operation(summary = "Gets the next page of players registered for this application, including locked ones. " +
+            "Pass an empty cursor to get the first page, and the returned cursor to get the next one.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Next page of players registered for this application, including locked ones.",
+                    content = { @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = GetPlayersCursorResponse.class)) })
+    })
+    public ResponseEntity<GetPlayersCursorResponse> getPlayersAfter(
+            @RequestParam String cursor,
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+        GetPlayersCursorResponse response = authService.getPlayersAfter(cursor, includeTotal);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/admin/players/export", produces = NDJSON)
+    @Operation(summary = "Streams all players registered for this application as newline-delimited JSON, " +
+            "optionally gzip-compressed.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "All players registered for this application, one JSON object per line.",
+                    content = { @Content(
+                            mediaType = NDJSON,
+                            schema = @Schema(implementation = ExportPlayersResponsePlayer.class)) })
+    })
+    public void exportPlayers(@RequestParam(required = false, defaultValue = "false") boolean gzip,
+                              HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream()) : response.getOutputStream();
+
+        try (JsonGenerator generator = exportWriter.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+
+            authService.exportPlayers(player -> {
+                try {
+                    exportWriter.writeValue(generator, player);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
     @GetMapping("/admin/admins")
     @Operation(summary = "Gets all admins registered for this application, including locked ones.")
     @ApiResponses(value = {
@@ -93,34 +190,190 @@ public class AuthController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
-    @PostMapping("/login")
-    @Operation(summary = "Verifies and logs in the specified player.")
+    @PostMapping("/admin/lockPlayers")
+    @Operation(summary = "Locks all specified players, preventing them from logging in.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Players to lock, as JSON array or newline-delimited JSON. Read while processing, " +
+                            "so even huge lists don't need to be buffered.",
+                    content = { @Content(array = @ArraySchema(schema = @Schema(implementation = PlayerIdentity.class))) }))
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "Login successful.",
+                    description = "Players locked, except for those that could not be found.",
                     content = { @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = LoginResponse.class)) }),
+                            schema = @Schema(implementation = LockPlayersResponse.class)) })
+    })
+    public ResponseEntity<LockPlayersResponse> lockPlayers(HttpServletRequest request) throws IOException {
+        LockPlayersResponse response = setPlayersLocked(request, true);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @PostMapping("/admin/unlockPlayers")
+    @Operation(summary = "Unlocks all specified players, allowing them to log in.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Players to unlock, as JSON array or newline-delimited JSON. Read while processing, " +
+                            "so even huge lists don't need to be buffered.",
+                    content = { @Content(array = @ArraySchema(schema = @Schema(implementation = PlayerIdentity.class))) }))
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Players unlocked, except for those that could not be found.",
+                    content = { @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = LockPlayersResponse.class)) })
+    })
+    public ResponseEntity<LockPlayersResponse> unlockPlayers(HttpServletRequest request) throws IOException {
+        LockPlayersResponse response = setPlayersLocked(request, false);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    private LockPlayersResponse setPlayersLocked(HttpServletRequest request, boolean locked) throws IOException {
+        LockPlayersResponse response = new LockPlayersResponse(locked);
+        List<PlayerIdentity> batch = new ArrayList<>(LOCK_PLAYERS_BATCH_SIZE);
+
+        try (MappingIterator<PlayerIdentity> players = playerIdentityReader.readValues(request.getInputStream())) {
+            while (players.hasNext()) {
+                batch.add(players.next());
+
+                if (batch.size() == LOCK_PLAYERS_BATCH_SIZE) {
+                    response.add(authService.setPlayersLocked(batch, locked));
+                    batch = new ArrayList<>(LOCK_PLAYERS_BATCH_SIZE);
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            response.add(authService.setPlayersLocked(batch, locked));
+        }
+
+        return response;
+    }
+
+    @PostMapping("/login")
+    @Operation(summary = "Verifies and logs in the specified player. Accepts and returns JSON, Smile or CBOR, " +
+            "depending on the Content-Type and Accept headers.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Login successful.",
+                    headers = { @Header(
+                            name = SessionTokenIssuer.HEADER,
+                            description = "Signed session token that other services can verify without calling this service.") },
+                    content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = LoginResponse.class)),
+                            @Content(mediaType = SMILE, schema = @Schema(implementation = LoginResponse.class)),
+                            @Content(mediaType = CBOR, schema = @Schema(implementation = LoginResponse.class)) }),
             @ApiResponse(
                     responseCode = "400",
                     description =
                             "Error " + ApiErrors.INVALID_CREDENTIALS_CODE + ": " + ApiErrors.INVALID_CREDENTIALS_MESSAGE + "<br />" +
                             "Error " + ApiErrors.UNKNOWN_AUTH_PROVIDER_CODE + ": " + ApiErrors.UNKNOWN_AUTH_PROVIDER_MESSAGE + "<br />" +
                             "Error " + ApiErrors.INVALID_ROLE_CODE + ": " + ApiErrors.INVALID_ROLE_MESSAGE,
+                    content = { @Content }),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many logins from the same address or with the same credentials, " +
+                            "or too many failed server logins from the same address.",
+                    content = { @Content }),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Auth provider can't accept any more logins right now. Retry after the number of " +
+                            "seconds in the Retry-After header.",
                     content = { @Content })
     })
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) throws ApiException {
-        LoginResponse response = authService.login(request);
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest request,
+                                                                  HttpServletRequest httpRequest) throws ApiException {
+        // Tomcat has already replaced the address of trusted proxies with the client address they forwarded.
+        String source = httpRequest.getRemoteAddr();
+
+        loginRateLimiter.check(source, request.getProvider(), request.getKey());
+
+        // Identical logins arriving at the same time are only processed once.
+        return loginCoalescer.coalesce(request, () -> processLogin(request, source))
+                .thenApply(response -> {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.set(SessionTokenIssuer.HEADER, sessionTokenIssuer.issueToken(response));
+
+                    return new ResponseEntity<>(response, headers, HttpStatus.OK);
+                });
+    }
+
+    private CompletableFuture<LoginResponse> processLogin(LoginRequest request, String source) throws ApiException {
+        // Release the servlet thread while waiting for the auth provider, and only enter the database transaction
+        // after authentication has finished.
+        return authService.authenticate(request, source).thenApply(userId -> {
+            try {
+                try {
+                    return authService.login(request, userId);
+                } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                    // Concurrent first login of the same player - log in again, finding the player created there.
+                    // Depending on the database, inserting the same player concurrently may fail with a duplicate key,
+                    // or with a deadlock or lock timeout instead (e.g. gap locks taken by InnoDB).
+                    return authService.login(request, userId);
+                }
+            } catch (ApiException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    @GetMapping("/admin/providers")
+    @Operation(summary = "Gets all auth providers of this instance, along with their login statistics since startup.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "All auth providers.",
+                    content = { @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = GetAuthProvidersResponse.class)) })
+    })
+    public ResponseEntity<GetAuthProvidersResponse> getAuthProviders() {
+        GetAuthProvidersResponse response = authService.getAuthProviders();
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @PostMapping("/admin/providers/{id}/enable")
+    @Operation(summary = "Enables the specified auth provider on this instance, allowing players to log in with it.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Provider enabled."),
+            @ApiResponse(
+                    responseCode = "400",
+                    description =
+                            "Error " + ApiErrors.UNKNOWN_AUTH_PROVIDER_CODE + ": " + ApiErrors.UNKNOWN_AUTH_PROVIDER_MESSAGE,
+                    content = { @Content })
+    })
+    public ResponseEntity<Void> enableAuthProvider(@PathVariable String id) throws ApiException {
+        authService.setAuthProviderEnabled(id, true);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @PostMapping("/admin/providers/{id}/disable")
+    @Operation(summary = "Disables the specified auth provider on this instance, rejecting all logins with it.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Provider disabled."),
+            @ApiResponse(
+                    responseCode = "400",
+                    description =
+                            "Error " + ApiErrors.UNKNOWN_AUTH_PROVIDER_CODE + ": " + ApiErrors.UNKNOWN_AUTH_PROVIDER_MESSAGE,
+                    content = { @Content })
+    })
+    public ResponseEntity<Void> disableAuthProvider(@PathVariable String id) throws ApiException {
+        authService.setAuthProviderEnabled(id, false);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @GetMapping("/admin/secretkeys")
-    @Operation(summary = "Gets all valid secret keys of this application.")
+    @Operation(summary = "Gets the ids of all valid secret keys of this application.")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "All valid secret keys that have been generated for this application.",
+                    description = "Ids of all valid secret keys that have been generated for this application. " +
+                            "The keys themselves are only returned once, when generating them.",
                     content = { @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = GetSecretKeysResponse.class)) })
@@ -146,7 +399,7 @@ public class AuthController {
     }
 
     @DeleteMapping("/admin/secretkeys/{key}")
-    @Operation(summary = "Deletes an existing secret key.")
+    @Operation(summary = "Deletes an existing secret key, specified either by the key itself or by its id.")
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "204",
@@ -1,17 +1,33 @@
 package de.opengamebackend.auth.controller;
 
+import com.google.common.base.Suppliers;
+import de.opengamebackend.auth.concurrent.LoginExecutor;
 import de.opengamebackend.auth.controller.providers.AuthProvider;
+import de.opengamebackend.auth.controller.providers.AuthProviderRegistry;
+import de.opengamebackend.auth.controller.providers.ServerAuthProvider;
+import de.opengamebackend.auth.invalidation.CacheInvalidator;
+import de.opengamebackend.auth.metrics.LoginMetrics;
+import de.opengamebackend.auth.metrics.LoginStage;
 import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.PlayerCache;
+import de.opengamebackend.auth.model.PlayerIds;
+import de.opengamebackend.auth.model.PlayerSnapshot;
+import de.opengamebackend.auth.model.RoleMask;
+import de.opengamebackend.auth.model.RoleRegistry;
+import de.opengamebackend.auth.model.SecretKeyIndex;
+import de.opengamebackend.auth.model.SecretKeys;
 import de.opengamebackend.auth.model.entities.Player;
 import de.opengamebackend.auth.model.entities.Role;
 import de.opengamebackend.auth.model.entities.SecretKey;
 import de.opengamebackend.auth.model.repositories.PlayerRepository;
-import de.opengamebackend.auth.model.repositories.RoleRepository;
 import de.opengamebackend.auth.model.repositories.SecretKeyRepository;
 import de.opengamebackend.auth.model.requests.LockPlayerRequest;
 import de.opengamebackend.auth.model.requests.LoginRequest;
+import de.opengamebackend.auth.model.requests.PlayerIdentity;
 import de.opengamebackend.auth.model.requests.UnlockPlayerRequest;
 import de.opengamebackend.auth.model.responses.*;
+import de.opengamebackend.auth.ratelimit.RateLimitExceededException;
+import de.opengamebackend.auth.ratelimit.SecretKeyThrottle;
 import de.opengamebackend.net.ApiErrors;
 import de.opengamebackend.net.ApiException;
 import org.slf4j.Logger;
@@ -20,130 +36,296 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import javax.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class AuthService {
     private static final int PAGE_SIZE = 100;
+    private static final long TOTAL_PLAYERS_CACHE_SECONDS = 60;
 
     private final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PlayerRepository playerRepository;
+    private final PlayerCache playerCache;
     private final SecretKeyRepository secretKeyRepository;
+    private final SecretKeyIndex secretKeyIndex;
+    private final CacheInvalidator cacheInvalidator;
 
-    private final List<AuthProvider> providers;
+    private final AuthProviderRegistry providerRegistry;
+    private final LoginExecutor loginExecutor;
+    private final LoginMetrics loginMetrics;
+    private final SecretKeyThrottle secretKeyThrottle;
+
+    private final Supplier<Integer> approximateTotalPlayers;
+
+    private volatile boolean adminBootstrapped;
 
     @Autowired
-    public AuthService(RoleRepository roleRepository, PlayerRepository playerRepository,
-                       SecretKeyRepository secretKeyRepository, List<AuthProvider> providers) {
-        this.roleRepository = roleRepository;
+    public AuthService(RoleRegistry roleRegistry, PlayerRepository playerRepository, PlayerCache playerCache,
+                       SecretKeyRepository secretKeyRepository, SecretKeyIndex secretKeyIndex,
+                       CacheInvalidator cacheInvalidator, AuthProviderRegistry providerRegistry, LoginExecutor loginExecutor,
+                       LoginMetrics loginMetrics, SecretKeyThrottle secretKeyThrottle) {
+        this.roleRegistry = roleRegistry;
         this.playerRepository = playerRepository;
+        this.playerCache = playerCache;
         this.secretKeyRepository = secretKeyRepository;
+        this.secretKeyIndex = secretKeyIndex;
+        this.cacheInvalidator = cacheInvalidator;
 
-        this.providers = providers;
+        this.providerRegistry = providerRegistry;
+        this.loginExecutor = loginExecutor;
+        this.loginMetrics = loginMetrics;
+        this.secretKeyThrottle = secretKeyThrottle;
+
+        this.approximateTotalPlayers = Suppliers.memoizeWithExpiration(
+                () -> playerRepository.countByRole(AuthRole.ROLE_USER),
+                TOTAL_PLAYERS_CACHE_SECONDS, TimeUnit.SECONDS);
     }
 
     public GetPlayersResponse getPlayers(int page) {
-        Role playerRole = roleRepository.findById(AuthRole.ROLE_USER.name()).orElse(null);
         Pageable sortedPageable = PageRequest.of(page, PAGE_SIZE, Sort.by("id"));
-        List<Player> players = playerRepository.findByRoles(playerRole, sortedPageable);
+        List<Player> players = playerRepository.findByRole(AuthRole.ROLE_USER, sortedPageable);
         List<GetPlayersResponsePlayer> responsePlayers = players.stream()
                 .map(p -> new GetPlayersResponsePlayer(p.getId(), p.getProvider(), p.getProviderUserId()))
                 .collect(Collectors.toList());
-        int totalPlayers = playerRepository.countByRoles(playerRole);
+        int totalPlayers = playerRepository.countByRole(AuthRole.ROLE_USER);
         int totalPages = totalPlayers > PAGE_SIZE ? (totalPlayers / PAGE_SIZE) + 1 : 1;
         return new GetPlayersResponse(responsePlayers, totalPlayers, totalPages);
     }
 
-    public GetAdminsResponse getAdmins() {
-        Role adminRole = roleRepository.findById(AuthRole.ROLE_ADMIN.name()).orElse(null);
-        List<Player> admins = playerRepository.findByRoles(adminRole);
+    public GetPlayersCursorResponse getPlayersAfter(String cursor, boolean includeTotal) {
+        String lastId = decodeCursor(cursor);
 
-        return new GetAdminsResponse(admins.stream()
-                .map(a -> new GetAdminsResponseAdmin(a.getProvider(), a.getProviderUserId(), a.isLocked()))
-                .collect(Collectors.toList()));
+        // Seek past the last player of the previous page instead of skipping all previous pages.
+        List<GetPlayersResponsePlayer> players =
+                playerRepository.findPlayersByRoleAfter(AuthRole.ROLE_USER, lastId, PageRequest.of(0, PAGE_SIZE));
+
+        String nextCursor = players.size() < PAGE_SIZE
+                ? null
+                : encodeCursor(players.get(players.size() - 1).getPlayerId());
+        Integer totalPlayers = includeTotal ? approximateTotalPlayers.get() : null;
+        return new GetPlayersCursorResponse(players, nextCursor, totalPlayers);
+    }
+
+    private String encodeCursor(String lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
     }
 
-    public LoginResponse login(LoginRequest request) throws ApiException {
+    private String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return PlayerIds.MIN;
+        }
+
+        String lastId;
+
+        try {
+            lastId = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+        }
+
+        if (!PlayerIds.isValid(lastId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+        }
+
+        return lastId;
+    }
+
+    /**
+     * Passes all players to the specified consumer, one at a time, without holding all of them in memory.
+     *
+     * @param consumer Consumer to pass all players to.
+     */
+    public void exportPlayers(Consumer<ExportPlayersResponsePlayer> consumer) {
+        try (Stream<ExportPlayersResponsePlayer> players = playerRepository.streamAllPlayers()) {
+            players.forEach(consumer);
+        }
+    }
+
+    public GetAdminsResponse getAdmins() {
+        return new GetAdminsResponse(playerRepository.findAdminsByRole(AuthRole.ROLE_ADMIN));
+    }
+
+    /**
+     * Authenticates the player with the provider specified in the request, without blocking the calling thread on
+     * providers that talk to remote services, and outside of any database transaction.
+     *
+     * @param request Request to authenticate.
+     * @param source Address the request has been sent from.
+     * @return Provider-specific id of the authenticated player, or {@link ApiException} wrapped in a
+     * {@link CompletionException} if authentication failed.
+     * @throws ApiException If the requested provider is unknown.
+     * @throws RateLimitExceededException If the source has failed to authenticate as server too often.
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public CompletableFuture<String> authenticate(LoginRequest request, String source) throws ApiException {
         // Look up provider.
-        AuthProvider provider = providers.stream().filter(p -> p.getId().equals(request.getProvider())).findAny().orElse(null);
+        long stageStartTime = loginMetrics.start();
+        AuthProvider provider = providerRegistry.getEnabledProvider(request.getProvider());
+        loginMetrics.record(LoginStage.PROVIDER_LOOKUP, stageStartTime);
 
         if (provider == null) {
-            logger.error("Login failed - unknown auth provider: {}", request.getProvider());
-            throw new ApiException(ApiErrors.UNKNOWN_AUTH_PROVIDER_CODE, ApiErrors.UNKNOWN_AUTH_PROVIDER_MESSAGE);
+            logger.error("Login failed - unknown or disabled auth provider: {}", request.getProvider());
+            throw loginMetrics.recordFailure(
+                    new ApiException(ApiErrors.UNKNOWN_AUTH_PROVIDER_CODE, ApiErrors.UNKNOWN_AUTH_PROVIDER_MESSAGE));
         }
 
-        // Authenticate player.
-        String userId = provider.authenticate(request.getKey(), request.getContext());
+        // Throttle sources guessing secret keys.
+        boolean server = ServerAuthProvider.ID.equals(provider.getId());
 
-        if (userId == null) {
-            logger.error("Login failed - failed to authenticate with provider {}.", request.getProvider());
-            throw new ApiException(ApiErrors.INVALID_CREDENTIALS_CODE, ApiErrors.INVALID_CREDENTIALS_MESSAGE);
+        if (server && !secretKeyThrottle.tryAcquire(source)) {
+            logger.warn("Login failed - too many failed server logins from {}.", source);
+            throw new RateLimitExceededException("Too many failed server logins from this address.");
         }
 
+        // Authenticate player.
+        long startTime = loginMetrics.start();
+
+        return CompletableFuture
+                .supplyAsync(() -> provider.authenticateAsync(request.getKey(), request.getContext()), loginExecutor)
+                .thenCompose(userIdFuture -> userIdFuture)
+                .whenComplete((userId, e) -> {
+                    loginMetrics.recordAuthentication(provider.getId(), userId != null, startTime);
+
+                    // Only keep the reserved token if the key has been checked and was wrong.
+                    if (server && (userId != null || e != null)) {
+                        secretKeyThrottle.release(source);
+                    }
+                })
+                .thenApply(userId -> {
+                    if (userId == null) {
+                        logger.error("Login failed - failed to authenticate with provider {}.", request.getProvider());
+                        throw new CompletionException(loginMetrics.recordFailure(
+                                new ApiException(ApiErrors.INVALID_CREDENTIALS_CODE, ApiErrors.INVALID_CREDENTIALS_MESSAGE)));
+                    }
+
+                    return userId;
+                });
+    }
+
+    /**
+     * Logs in the player who has been authenticated before, creating the player on their first login.
+     *
+     * @param request Request the player has been authenticated with.
+     * @param userId Provider-specific id of the authenticated player.
+     * @return Details of the logged in player.
+     * @throws ApiException If the requested role is unknown.
+     */
+    public LoginResponse login(LoginRequest request, String userId) throws ApiException {
         // Look up role.
-        Role role = roleRepository.findById(request.getRole()).orElse(null);
+        long stageStartTime = loginMetrics.start();
+        Role role = roleRegistry.getRole(request.getRole());
+        loginMetrics.record(LoginStage.ROLE_LOOKUP, stageStartTime);
 
         if (role == null) {
             logger.error("Login failed - unknown role: {}", request.getRole());
-            throw new ApiException(ApiErrors.INVALID_ROLE_CODE, ApiErrors.INVALID_ROLE_MESSAGE);
+            throw loginMetrics.recordFailure(
+                    new ApiException(ApiErrors.INVALID_ROLE_CODE, ApiErrors.INVALID_ROLE_MESSAGE));
         }
 
-        // Look up player.
+        // Look up player, serving returning players from memory.
         boolean firstTimeSetup = false;
 
-        Player player = playerRepository.findByProviderAndProviderUserId(request.getProvider(), userId).orElse(null);
+        stageStartTime = loginMetrics.start();
+        PlayerSnapshot player = playerCache.get(request.getProvider(), userId);
+        boolean cached = player != null;
+        long cacheStamp = playerCache.stamp();
+
+        if (!cached) {
+            player = playerRepository.findByProviderAndProviderUserId(request.getProvider(), userId)
+                    .map(PlayerSnapshot::of)
+                    .orElse(null);
+        }
+
+        loginMetrics.record(LoginStage.PLAYER_LOOKUP, stageStartTime);
 
         if (player == null) {
-            player = new Player();
-            player.setId(UUID.randomUUID().toString());
-            player.setRoles(Collections.singletonList(role));
-            player.setProviderUserId(userId);
-            player.setProvider(request.getProvider());
+            Player newPlayer = new Player();
+            newPlayer.setId(PlayerIds.generate());
+            newPlayer.setRoleMask(RoleMask.of(role.getName()));
+            newPlayer.setProviderUserId(userId);
+            newPlayer.setProvider(request.getProvider());
 
             // Check if we're running the application for the very first time and need a first admin user.
             if (AuthRole.ROLE_ADMIN.name().equals(request.getRole())) {
-                List<Player> admins = playerRepository.findByRoles(role);
+                stageStartTime = loginMetrics.start();
 
-                if (admins == null || admins.isEmpty()) {
+                if (!adminBootstrapped && !playerRepository.existsByRole(AuthRole.ROLE_ADMIN)) {
                     // Create admin user and allow login.
                     logger.info("First time setup - admin created: {} ({} {})",
-                            player.getId(), player.getProvider(), player.getProviderUserId());
+                            newPlayer.getId(), newPlayer.getProvider(), newPlayer.getProviderUserId());
 
                     firstTimeSetup = true;
                 } else {
                     // Lock new admin until unlocked by others.
-                    player.setLocked(true);
+                    // Admins are never removed, so we don't need to check again once we've seen one.
+                    adminBootstrapped = true;
+                    newPlayer.setLocked(true);
                 }
+
+                loginMetrics.record(LoginStage.FIRST_TIME_SETUP, stageStartTime);
             }
 
-            playerRepository.save(player);
-        }
+            stageStartTime = loginMetrics.start();
+            boolean inserted = playerRepository.insertIfAbsent(newPlayer);
+            loginMetrics.record(LoginStage.SAVE, stageStartTime);
 
-        // Send response.
-        ArrayList<String> roles = new ArrayList<>();
+            if (!inserted) {
+                // Concurrent first login of the same player - use the player created there.
+                logger.info("Player {} ({}) has been created concurrently.", userId, request.getProvider());
+
+                firstTimeSetup = false;
+                newPlayer = playerRepository.findByProviderAndProviderUserId(request.getProvider(), userId)
+                        .orElseThrow(() -> new IllegalStateException("Concurrently created player not found."));
+            }
+
+            player = PlayerSnapshot.of(newPlayer);
+        }
 
-        for (Role r : player.getRoles()) {
-            roles.add(r.getName());
+        if (!cached) {
+            playerCache.put(player, cacheStamp);
         }
 
+        // Send response.
+        stageStartTime = loginMetrics.start();
+
         logger.info("Login successful for player {} ({}) as {} with provider {}{}.", player.getProviderUserId(),
                 player.getId(), request.getRole(), request.getProvider(), player.isLocked() ? " (locked)" : "");
 
-        LoginResponse response = new LoginResponse(player.getId(), roles);
+        LoginResponse response = new LoginResponse(player.getId(), player.getRoles());
         response.setProvider(request.getProvider());
         response.setProviderUserId(userId);
         response.setLocked(player.isLocked());
         response.setFirstTimeSetup(firstTimeSetup);
+        loginMetrics.record(LoginStage.RESPONSE_BUILD, stageStartTime);
         return response;
     }
 
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public GetAuthProvidersResponse getAuthProviders() {
+        return new GetAuthProvidersResponse(providerRegistry.getProviders());
+    }
+
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void setAuthProviderEnabled(String id, boolean enabled) throws ApiException {
+        providerRegistry.setEnabled(id, enabled);
+    }
+
     public LockPlayerResponse lockPlayer(LockPlayerRequest request) throws ApiException {
         setPlayerLocked(request.getProvider(), request.getProviderUserId(), true);
         return new LockPlayerResponse(request.getProvider(), request.getProviderUserId(), true);
@@ -154,6 +336,50 @@ public class AuthService {
         return new UnlockPlayerResponse(request.getProvider(), request.getProviderUserId(), false);
     }
 
+    /**
+     * Locks or unlocks a batch of players at once, using one query for looking up and one for changing the players
+     * of each provider.
+     *
+     * @param players Players to lock or unlock.
+     * @param locked Whether to lock or unlock the players.
+     * @return Number of changed players, and all players that could not be found.
+     */
+    public LockPlayersResponse setPlayersLocked(List<PlayerIdentity> players, boolean locked) {
+        LockPlayersResponse response = new LockPlayersResponse(locked);
+        response.setPlayersRequested(players.size());
+
+        Map<String, Set<String>> providerUserIdsByProvider = new HashMap<>();
+
+        for (PlayerIdentity player : players) {
+            providerUserIdsByProvider.computeIfAbsent(player.getProvider(), p -> new HashSet<>())
+                    .add(player.getProviderUserId());
+        }
+
+        for (Map.Entry<String, Set<String>> entry : providerUserIdsByProvider.entrySet()) {
+            String provider = entry.getKey();
+            Set<String> providerUserIds = entry.getValue();
+
+            List<String> foundProviderUserIds = playerRepository.findProviderUserIds(provider, providerUserIds);
+
+            if (!foundProviderUserIds.isEmpty()) {
+                int changed = playerRepository.updateLocked(provider, foundProviderUserIds, locked);
+                response.setPlayersChanged(response.getPlayersChanged() + changed);
+                cacheInvalidator.playersChanged(provider, foundProviderUserIds);
+            }
+
+            providerUserIds.removeAll(foundProviderUserIds);
+
+            for (String providerUserId : providerUserIds) {
+                response.getPlayersNotFound().add(new PlayerIdentity(provider, providerUserId));
+            }
+        }
+
+        logger.info("Player locks changed - {} of {} players - locked: {}",
+                response.getPlayersChanged(), response.getPlayersRequested(), locked);
+
+        return response;
+    }
+
     private void setPlayerLocked(String provider, String providerUserId, boolean locked) throws ApiException {
         Player player = playerRepository.findByProviderAndProviderUserId(provider, providerUserId).orElse(null);
 
@@ -164,6 +390,7 @@ public class AuthService {
 
         player.setLocked(locked);
         playerRepository.save(player);
+        cacheInvalidator.playerChanged(provider, providerUserId);
 
         logger.info("Player lock changed - {} ({}) - locked: {}", providerUserId, provider, locked);
     }
@@ -171,31 +398,42 @@ public class AuthService {
     public GetSecretKeysResponse getSecretKeys() {
         List<String> keys = new ArrayList<>();
 
+        // Keys themselves aren't stored, so only their ids can be listed.
         for (SecretKey key : secretKeyRepository.findAll()) {
-            keys.add(key.getSecretKey());
+            keys.add(key.getKeyId());
         }
 
         return new GetSecretKeysResponse(keys);
     }
 
     public GenerateSecretKeyResponse generateSecretKey() {
-        String key = UUID.randomUUID().toString()
-                .concat(UUID.randomUUID().toString())
-                .concat(UUID.randomUUID().toString());
+        String key = SecretKeys.generate();
 
-        SecretKey secretKey = new SecretKey(key);
+        SecretKey secretKey = new SecretKey(SecretKeys.keyId(key), SecretKeys.hash(key));
         secretKeyRepository.save(secretKey);
+        secretKeyIndex.add(secretKey);
+        cacheInvalidator.secretKeysChanged();
 
         return new GenerateSecretKeyResponse(key);
     }
 
     public void removeSecretKey(String key) throws ApiException {
-        Optional<SecretKey> secretKey = secretKeyRepository.findById(key);
+        // Accept both keys and key ids, as admins can only list the latter.
+        String keyId = SecretKeys.keyId(key);
+        Optional<SecretKey> secretKey = keyId != null ? secretKeyRepository.findById(keyId) : Optional.empty();
+
+        // Don't let a mistyped key remove another key just because it starts with that key's id.
+        if (secretKey.isPresent() && key.length() > SecretKeys.KEY_ID_LENGTH
+                && !SecretKeys.matches(secretKey.get().getKeyHash(), key)) {
+            secretKey = Optional.empty();
+        }
 
         if (!secretKey.isPresent()) {
             throw new ApiException(ApiErrors.INVALID_SECRET_KEY_CODE, ApiErrors.INVALID_SECRET_KEY_MESSAGE);
         }
 
         secretKeyRepository.delete(secretKey.get());
+        secretKeyIndex.remove(keyId);
+        cacheInvalidator.secretKeysChanged();
     }
 }
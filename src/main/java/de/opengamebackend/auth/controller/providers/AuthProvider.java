@@ -1,5 +1,7 @@
 package de.opengamebackend.auth.controller.providers;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthProvider {
     /**
      * Returns a unique identifier for this auth provider class, which requests can specify to choose this provider.
@@ -17,4 +19,23 @@ public interface AuthProvider {
      * @return Id of the authenticated player, or null if authentication failed.
      */
     String authenticate(String key, String context);
+
+    /**
+     * Authenticates a user like {@link #authenticate(String, String)}, but without blocking the calling thread.
+     * Providers talking to remote services should override this, while all others are fine with the default
+     * implementation, which authenticates synchronously.
+     *
+     * @param key Provider-specific authentication key.
+     * @param context Optional provider-specific authentication context.
+     * @return Id of the authenticated player, or null if authentication failed.
+     */
+    default CompletableFuture<String> authenticateAsync(String key, String context) {
+        try {
+            return CompletableFuture.completedFuture(authenticate(key, context));
+        } catch (RuntimeException e) {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
 }
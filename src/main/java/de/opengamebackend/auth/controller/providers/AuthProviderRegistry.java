@@ -0,0 +1,129 @@
+package de.opengamebackend.auth.controller.providers;
+
+import com.google.common.collect.ImmutableMap;
+import de.opengamebackend.auth.metrics.LoginMetrics;
+import de.opengamebackend.auth.model.responses.GetAuthProvidersResponseProvider;
+import de.opengamebackend.net.ApiErrors;
+import de.opengamebackend.net.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Provides all auth providers by id, built once on startup, and allows disabling single providers at runtime.
+ * Reports the authentication results of each provider, as recorded by {@link LoginMetrics}.
+ */
+@Component
+public class AuthProviderRegistry {
+    private final Logger logger = LoggerFactory.getLogger(AuthProviderRegistry.class);
+
+    private final ImmutableMap<String, Entry> providers;
+    private final LoginMetrics loginMetrics;
+
+    @Autowired
+    public AuthProviderRegistry(List<AuthProvider> providers, AuthProvidersConfig config, LoginMetrics loginMetrics) {
+        Map<String, Entry> entries = new HashMap<>();
+
+        for (AuthProvider provider : providers) {
+            Entry existing = entries.put(provider.getId(), new Entry(provider));
+
+            if (existing != null) {
+                throw new IllegalStateException("Duplicate auth provider id \"" + provider.getId() + "\": " +
+                        existing.provider.getClass().getName() + " and " + provider.getClass().getName());
+            }
+        }
+
+        for (String id : config.getDisabled()) {
+            Entry entry = entries.get(id);
+
+            if (entry == null) {
+                throw new IllegalStateException("Unknown auth provider configured to be disabled: " + id);
+            }
+
+            logger.info("Auth provider disabled: {}", id);
+            entry.enabled = false;
+        }
+
+        this.providers = ImmutableMap.copyOf(entries);
+        this.loginMetrics = loginMetrics;
+    }
+
+    /**
+     * Gets the enabled auth provider with the specified id.
+     *
+     * @param id Id of the provider to get.
+     * @return Provider with the specified id, or null if there is no such provider or it has been disabled.
+     */
+    public AuthProvider getEnabledProvider(String id) {
+        Entry entry = providers.get(id);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (!entry.enabled) {
+            loginMetrics.recordRejection(id);
+            return null;
+        }
+
+        return entry.provider;
+    }
+
+    /**
+     * Enables or disables the auth provider with the specified id, on this instance only.
+     *
+     * @param id Id of the provider to enable or disable.
+     * @param enabled Whether to enable or disable the provider.
+     * @throws ApiException If there is no provider with the specified id.
+     */
+    public void setEnabled(String id, boolean enabled) throws ApiException {
+        Entry entry = providers.get(id);
+
+        if (entry == null) {
+            throw new ApiException(ApiErrors.UNKNOWN_AUTH_PROVIDER_CODE, ApiErrors.UNKNOWN_AUTH_PROVIDER_MESSAGE);
+        }
+
+        entry.enabled = enabled;
+        logger.info("Auth provider {}: {}", enabled ? "enabled" : "disabled", id);
+    }
+
+    /**
+     * Gets the state and authentication results of all providers, ordered by id.
+     *
+     * @return State and authentication results of all providers.
+     */
+    public List<GetAuthProvidersResponseProvider> getProviders() {
+        return providers.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> toResponse(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    private GetAuthProvidersResponseProvider toResponse(String id, Entry entry) {
+        long successful = loginMetrics.getAuthentications(id, true);
+        long failed = loginMetrics.getAuthentications(id, false);
+        long authentications = successful + failed;
+        long averageMs = authentications > 0
+                ? (long)(loginMetrics.getAuthenticationTime(id, TimeUnit.MILLISECONDS) / authentications)
+                : 0L;
+
+        return new GetAuthProvidersResponseProvider(id, entry.enabled, successful, failed,
+                loginMetrics.getRejections(id), averageMs);
+    }
+
+    private static class Entry {
+        private final AuthProvider provider;
+        private volatile boolean enabled = true;
+
+        private Entry(AuthProvider provider) {
+            this.provider = provider;
+        }
+    }
+}
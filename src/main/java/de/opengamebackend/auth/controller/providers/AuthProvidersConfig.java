@@ -0,0 +1,24 @@
+package de.opengamebackend.auth.controller.providers;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+
+import java.util.Collections;
+import java.util.List;
+
+@ConstructorBinding
+@ConfigurationProperties("de.opengamebackend.auth.providers")
+public class AuthProvidersConfig {
+    private List<String> disabled;
+
+    public AuthProvidersConfig(List<String> disabled) {
+        this.disabled = disabled != null ? disabled : Collections.emptyList();
+    }
+
+    /**
+     * Gets the ids of all auth providers to disable on startup.
+     */
+    public List<String> getDisabled() {
+        return disabled;
+    }
+}
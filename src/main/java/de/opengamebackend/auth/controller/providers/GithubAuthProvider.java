@@ -1,22 +1,79 @@
 package de.opengamebackend.auth.controller.providers;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.opengamebackend.auth.concurrent.VirtualThreads;
+import de.opengamebackend.auth.concurrent.VirtualThreadsConfig;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import javax.annotation.PreDestroy;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
 
 @Component
 public class GithubAuthProvider implements AuthProvider {
+    private static final long RETRY_AFTER_SECONDS = 1L;
+
     private GithubAuthProviderConfig config;
 
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+    private ExecutorService executor;
+
     @Autowired
-    public GithubAuthProvider(GithubAuthProviderConfig config) {
+    public GithubAuthProvider(GithubAuthProviderConfig config, VirtualThreadsConfig virtualThreadsConfig) {
         this.config = config;
+
+        // Share pooled keep-alive connections across all logins, instead of doing a new TCP and TLS handshake
+        // with GitHub for every request.
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(config.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(config.getConnectTimeoutMs())
+                .setSocketTimeout(config.getReadTimeoutMs())
+                .setConnectionRequestTimeout(config.getConnectionRequestTimeoutMs())
+                .build();
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(config.getConnectionIdleTimeoutMs(), TimeUnit.MILLISECONDS)
+                .build();
+
+        this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+
+        // Wait for GitHub on dedicated threads, instead of holding servlet threads and database connections.
+        // Virtual threads are cheap enough to be started for every login, leaving the connection pool as the only limit.
+        if (virtualThreadsConfig.isEnabled()) {
+            this.executor = VirtualThreads.newThreadPerTaskExecutor("github-login-");
+        } else {
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+                    config.getMaxConcurrentLogins(), config.getMaxConcurrentLogins(),
+                    60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(config.getLoginQueueCapacity()),
+                    new ThreadFactoryBuilder().setNameFormat("github-login-%d").setDaemon(true).build());
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            this.executor = threadPoolExecutor;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        executor.shutdown();
+        httpClient.close();
     }
 
     @Override
@@ -24,6 +81,19 @@ public class GithubAuthProvider implements AuthProvider {
         return "github";
     }
 
+    @Override
+    public CompletableFuture<String> authenticateAsync(String key, String context) {
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticate(key, context), executor);
+        } catch (RejectedExecutionException e) {
+            // All threads busy and the queue full - let clients retry later, instead of failing as if the login was wrong.
+            CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(new ProviderOverloadedException("Too many pending GitHub logins.",
+                    RETRY_AFTER_SECONDS, e));
+            return future;
+        }
+    }
+
     @Override
     public String authenticate(String key, String context) {
         if (Strings.isNullOrEmpty(config.getClientId())) {
@@ -38,10 +108,8 @@ public class GithubAuthProvider implements AuthProvider {
             throw new IllegalStateException("GitHub redirect URI not set.");
         }
 
-        RestTemplate restTemplate = new RestTemplate();
-
         // Get OAuth2 token.
-        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl("https://github.com/login/oauth/access_token")
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(config.getAccessTokenUri())
                 .queryParam("client_id", config.getClientId())
                 .queryParam("client_secret", config.getClientSecret())
                 .queryParam("redirect_uri", config.getRedirectUri())
@@ -65,7 +133,7 @@ public class GithubAuthProvider implements AuthProvider {
         headers.set("Authorization", "token " + getAccessTokenResponse.getBody().getAccessToken());
         httpEntity = new HttpEntity<>(headers);
 
-        ResponseEntity<GithubGetUserResponse> getUserResponse = restTemplate.exchange("https://api.github.com/user",
+        ResponseEntity<GithubGetUserResponse> getUserResponse = restTemplate.exchange(config.getUserUri(),
                 HttpMethod.GET, httpEntity, GithubGetUserResponse.class);
 
         if (getUserResponse.getStatusCodeValue() >= 400 ||
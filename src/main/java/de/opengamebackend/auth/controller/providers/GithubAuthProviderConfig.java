@@ -2,6 +2,7 @@ package de.opengamebackend.auth.controller.providers;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.validation.annotation.Validated;
 
 @ConstructorBinding
@@ -12,10 +13,43 @@ public class GithubAuthProviderConfig {
     private String clientSecret;
     private String redirectUri;
 
-    public GithubAuthProviderConfig(String clientId, String clientSecret, String redirectUri) {
+    private String accessTokenUri;
+    private String userUri;
+
+    private int connectTimeoutMs;
+    private int readTimeoutMs;
+    private int connectionRequestTimeoutMs;
+    private int maxConnections;
+    private int maxConnectionsPerRoute;
+    private long connectionIdleTimeoutMs;
+
+    private int maxConcurrentLogins;
+    private int loginQueueCapacity;
+
+    public GithubAuthProviderConfig(String clientId, String clientSecret, String redirectUri,
+                                    @DefaultValue("https://github.com/login/oauth/access_token") String accessTokenUri,
+                                    @DefaultValue("https://api.github.com/user") String userUri,
+                                    @DefaultValue("2000") int connectTimeoutMs,
+                                    @DefaultValue("5000") int readTimeoutMs,
+                                    @DefaultValue("1000") int connectionRequestTimeoutMs,
+                                    @DefaultValue("100") int maxConnections,
+                                    @DefaultValue("50") int maxConnectionsPerRoute,
+                                    @DefaultValue("30000") long connectionIdleTimeoutMs,
+                                    @DefaultValue("50") int maxConcurrentLogins,
+                                    @DefaultValue("1000") int loginQueueCapacity) {
         this.clientId = clientId;
         this.clientSecret = clientSecret;
         this.redirectUri = redirectUri;
+        this.accessTokenUri = accessTokenUri;
+        this.userUri = userUri;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+        this.connectionRequestTimeoutMs = connectionRequestTimeoutMs;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.connectionIdleTimeoutMs = connectionIdleTimeoutMs;
+        this.maxConcurrentLogins = maxConcurrentLogins;
+        this.loginQueueCapacity = loginQueueCapacity;
     }
 
     public String getClientId() {
@@ -29,4 +63,75 @@ public class GithubAuthProviderConfig {
     public String getRedirectUri() {
         return redirectUri;
     }
+
+    /**
+     * Gets the URI to exchange OAuth2 codes for access tokens at.
+     */
+    public String getAccessTokenUri() {
+        return accessTokenUri;
+    }
+
+    /**
+     * Gets the URI to get details of the authenticated user from.
+     */
+    public String getUserUri() {
+        return userUri;
+    }
+
+    /**
+     * Gets the maximum time to wait for establishing a connection to GitHub, in milliseconds.
+     */
+    public int getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    /**
+     * Gets the maximum time to wait for data from GitHub after a connection has been established, in milliseconds.
+     */
+    public int getReadTimeoutMs() {
+        return readTimeoutMs;
+    }
+
+    /**
+     * Gets the maximum time to wait for a free connection from the pool, in milliseconds.
+     */
+    public int getConnectionRequestTimeoutMs() {
+        return connectionRequestTimeoutMs;
+    }
+
+    /**
+     * Gets the maximum number of pooled connections in total.
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Gets the maximum number of pooled connections per GitHub host.
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Gets the time after which idle pooled connections are closed, in milliseconds.
+     */
+    public long getConnectionIdleTimeoutMs() {
+        return connectionIdleTimeoutMs;
+    }
+
+    /**
+     * Gets the maximum number of logins talking to GitHub at the same time. Ignored when running on virtual threads.
+     */
+    public int getMaxConcurrentLogins() {
+        return maxConcurrentLogins;
+    }
+
+    /**
+     * Gets the maximum number of logins waiting for talking to GitHub, before further logins are rejected. Ignored when
+     * running on virtual threads.
+     */
+    public int getLoginQueueCapacity() {
+        return loginQueueCapacity;
+    }
 }
@@ -0,0 +1,20 @@
+package de.opengamebackend.auth.controller.providers;
+
+/**
+ * Thrown if an auth provider can't accept any more logins right now, and answered with status 503.
+ */
+public class ProviderOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ProviderOverloadedException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Gets the time clients should wait before trying to log in again, in seconds.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
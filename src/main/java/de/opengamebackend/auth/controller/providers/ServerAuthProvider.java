@@ -1,25 +1,27 @@
 package de.opengamebackend.auth.controller.providers;
 
-import de.opengamebackend.auth.model.repositories.SecretKeyRepository;
+import de.opengamebackend.auth.model.SecretKeyIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ServerAuthProvider implements AuthProvider {
-    private final SecretKeyRepository secretKeyRepository;
+    public static final String ID = "server";
+
+    private final SecretKeyIndex secretKeyIndex;
 
     @Autowired
-    public ServerAuthProvider(SecretKeyRepository secretKeyRepository) {
-        this.secretKeyRepository = secretKeyRepository;
+    public ServerAuthProvider(SecretKeyIndex secretKeyIndex) {
+        this.secretKeyIndex = secretKeyIndex;
     }
 
     @Override
     public String getId() {
-        return "server";
+        return ID;
     }
 
     @Override
     public String authenticate(String key, String context) {
-        return secretKeyRepository.findById(key).isPresent() ? "SERVER" : null;
+        return secretKeyIndex.contains(key) ? "SERVER" : null;
     }
 }
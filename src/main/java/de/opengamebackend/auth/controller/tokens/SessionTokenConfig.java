@@ -0,0 +1,27 @@
+package de.opengamebackend.auth.controller.tokens;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@ConstructorBinding
+@ConfigurationProperties("de.opengamebackend.auth.token")
+@Validated
+public class SessionTokenConfig {
+    private String secret;
+    private long expirationSeconds;
+
+    public SessionTokenConfig(String secret, @DefaultValue("3600") long expirationSeconds) {
+        this.secret = secret;
+        this.expirationSeconds = expirationSeconds;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public long getExpirationSeconds() {
+        return expirationSeconds;
+    }
+}
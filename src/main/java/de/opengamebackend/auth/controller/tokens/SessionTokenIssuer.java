@@ -0,0 +1,124 @@
+package de.opengamebackend.auth.controller.tokens;
+
+import com.google.common.base.Strings;
+import de.opengamebackend.auth.model.responses.LoginResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Issues signed session tokens that other services can verify locally, without calling back into this service.
+ *
+ * Tokens consist of the Base64url-encoded payload and its HMAC-SHA256 signature, separated by a dot. The payload is
+ * made up of the following UTF-8 lines:
+ * <ol>
+ *     <li>token format version ({@value #VERSION})</li>
+ *     <li>player id</li>
+ *     <li>comma-separated player roles</li>
+ *     <li>1 if the player is locked, and 0 otherwise</li>
+ *     <li>expiration time, in seconds since the epoch</li>
+ * </ol>
+ */
+@Component
+public class SessionTokenIssuer {
+    public static final String HEADER = "X-Session-Token";
+    public static final String VERSION = "1";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final Logger logger = LoggerFactory.getLogger(SessionTokenIssuer.class);
+
+    private final SecretKeySpec key;
+    private final long expirationSeconds;
+    private final Queue<Mac> macs = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public SessionTokenIssuer(SessionTokenConfig config) {
+        byte[] secret;
+
+        if (Strings.isNullOrEmpty(config.getSecret())) {
+            logger.warn("Session token secret not set - using random secret. Other services won't be able to verify tokens.");
+
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        } else {
+            secret = Base64.getDecoder().decode(config.getSecret());
+        }
+
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.expirationSeconds = config.getExpirationSeconds();
+    }
+
+    /**
+     * Issues a new session token for the player who has just logged in.
+     *
+     * @param loginResponse Result of the successful login.
+     * @return Signed session token.
+     */
+    public String issueToken(LoginResponse loginResponse) {
+        long expiresAt = System.currentTimeMillis() / 1000L + expirationSeconds;
+
+        StringBuilder payload = new StringBuilder(128)
+                .append(VERSION).append('\n')
+                .append(loginResponse.getPlayerId()).append('\n');
+        appendRoles(payload, loginResponse.getRoles());
+        payload.append('\n')
+                .append(loginResponse.isLocked() ? '1' : '0').append('\n')
+                .append(expiresAt);
+
+        byte[] payloadBytes = payload.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] signature = sign(payloadBytes);
+
+        return ENCODER.encodeToString(payloadBytes) + '.' + ENCODER.encodeToString(signature);
+    }
+
+    private void appendRoles(StringBuilder payload, List<String> roles) {
+        if (roles == null) {
+            return;
+        }
+
+        for (int i = 0; i < roles.size(); ++i) {
+            if (i > 0) {
+                payload.append(',');
+            }
+
+            payload.append(roles.get(i));
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        // Reuse initialized MACs through a shared pool instead of per thread, because requests may be handled on a new
+        // virtual thread each time.
+        Mac mac = macs.poll();
+
+        if (mac == null) {
+            mac = createMac();
+        }
+
+        byte[] signature = mac.doFinal(payload);
+        macs.offer(mac);
+        return signature;
+    }
+
+    private Mac createMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize session token signing.", e);
+        }
+    }
+}
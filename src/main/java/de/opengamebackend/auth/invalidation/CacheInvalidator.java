@@ -0,0 +1,110 @@
+package de.opengamebackend.auth.invalidation;
+
+import de.opengamebackend.auth.model.PlayerCache;
+import de.opengamebackend.auth.model.SecretKeyIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Evicts players and secret keys held in memory by this replica, whenever they are changed by any replica.
+ *
+ * Changes made by this replica are applied locally right away and published to all other replicas, which apply them
+ * as soon as they receive them. Events published by this replica are ignored when they are received back.
+ *
+ * Changing many players at once publishes a single event evicting all players, instead of one event per player, so
+ * ban waves neither write an event for each player nor take other replicas many polls to catch up.
+ */
+@Component
+public class CacheInvalidator implements InvalidationListener {
+    private final String replicaId = UUID.randomUUID().toString();
+
+    private final InvalidationChannel invalidationChannel;
+    private final PlayerCache playerCache;
+    private final SecretKeyIndex secretKeyIndex;
+    private final int maxPlayerEvents;
+
+    @Autowired
+    public CacheInvalidator(InvalidationChannel invalidationChannel, PlayerCache playerCache,
+                            SecretKeyIndex secretKeyIndex, InvalidationConfig config) {
+        this.invalidationChannel = invalidationChannel;
+        this.playerCache = playerCache;
+        this.secretKeyIndex = secretKeyIndex;
+        this.maxPlayerEvents = config.getMaxPlayerEvents();
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        invalidationChannel.subscribe(this);
+    }
+
+    /**
+     * Evicts the specified player on all replicas.
+     *
+     * @param provider Auth provider of the changed player.
+     * @param providerUserId Provider-specific id of the changed player.
+     */
+    public void playerChanged(String provider, String providerUserId) {
+        playerCache.invalidate(provider, providerUserId);
+        invalidationChannel.publish(InvalidationEvent.player(replicaId, provider, providerUserId));
+    }
+
+    /**
+     * Evicts the specified players on all replicas, or all players if there are too many of them.
+     *
+     * @param provider Auth provider of the changed players.
+     * @param providerUserIds Provider-specific ids of the changed players.
+     */
+    public void playersChanged(String provider, Collection<String> providerUserIds) {
+        if (providerUserIds.size() > maxPlayerEvents) {
+            playerCache.invalidateAll();
+            invalidationChannel.publish(InvalidationEvent.allPlayers(replicaId));
+            return;
+        }
+
+        for (String providerUserId : providerUserIds) {
+            playerChanged(provider, providerUserId);
+        }
+    }
+
+    /**
+     * Reloads secret keys on all other replicas. The index of this replica has to be updated by the caller.
+     */
+    public void secretKeysChanged() {
+        invalidationChannel.publish(InvalidationEvent.secretKeys(replicaId));
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (replicaId.equals(event.getOrigin())) {
+            return;
+        }
+
+        switch (event.getType()) {
+            case PLAYER:
+                playerCache.invalidate(event.getProvider(), event.getProviderUserId());
+                break;
+
+            case ALL_PLAYERS:
+                playerCache.invalidateAll();
+                break;
+
+            case SECRET_KEYS:
+                secretKeyIndex.reload();
+                break;
+        }
+    }
+
+    @Override
+    public void onEventsLost() {
+        playerCache.invalidateAll();
+        secretKeyIndex.reload();
+    }
+
+    public String getReplicaId() {
+        return replicaId;
+    }
+}
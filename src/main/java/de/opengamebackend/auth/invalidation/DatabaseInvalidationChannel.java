@@ -0,0 +1,190 @@
+package de.opengamebackend.auth.invalidation;
+
+import de.opengamebackend.auth.model.entities.Invalidation;
+import de.opengamebackend.auth.model.repositories.InvalidationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Delivers events to all replicas sharing the same database, without requiring any additional infrastructure.
+ *
+ * Events are inserted within the publishing transaction, so they become visible exactly if that transaction commits.
+ * Each replica polls for new events periodically, using the generated ids of the events as versions. As transactions
+ * may commit out of order, versions skipped while polling are looked up again for a while, until their transaction
+ * has either committed or most likely been rolled back.
+ *
+ * Used unless another backend has been configured in {@code de.opengamebackend.auth.invalidation.backend}.
+ */
+@Component
+@ConditionalOnProperty(name = "de.opengamebackend.auth.invalidation.backend", havingValue = "database",
+        matchIfMissing = true)
+public class DatabaseInvalidationChannel implements InvalidationChannel, SchedulingConfigurer {
+    private static final int MAX_GAPS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(DatabaseInvalidationChannel.class);
+
+    private final InvalidationRepository invalidationRepository;
+    private final long pollIntervalMillis;
+    private final long pruneIntervalMillis;
+    private final long retentionMillis;
+    private final long gapTimeoutMillis;
+    private final int batchSize;
+    private final LongSupplier clock;
+
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    private final Object pollLock = new Object();
+
+    /** Versions skipped while polling, and the times they've first been skipped at. */
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+    private long lastVersion;
+    private long lastPoll;
+
+    @Autowired
+    public DatabaseInvalidationChannel(InvalidationRepository invalidationRepository, InvalidationConfig config) {
+        this(invalidationRepository, config, System::currentTimeMillis);
+    }
+
+    DatabaseInvalidationChannel(InvalidationRepository invalidationRepository, InvalidationConfig config,
+                                LongSupplier clock) {
+        this.invalidationRepository = invalidationRepository;
+        this.pollIntervalMillis = config.getPollIntervalMs();
+        this.pruneIntervalMillis = config.getPruneIntervalMs();
+        this.retentionMillis = TimeUnit.SECONDS.toMillis(config.getRetentionSeconds());
+        this.gapTimeoutMillis = TimeUnit.SECONDS.toMillis(config.getGapTimeoutSeconds());
+        this.batchSize = config.getBatchSize();
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        synchronized (pollLock) {
+            // Nothing has been cached yet, so there's no need to read older events.
+            lastVersion = invalidationRepository.findMaxId();
+            lastPoll = clock.getAsLong();
+        }
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(new IntervalTask(this::poll, pollIntervalMillis, pollIntervalMillis));
+        taskRegistrar.addFixedDelayTask(new IntervalTask(this::prune, pruneIntervalMillis, pruneIntervalMillis));
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        invalidationRepository.save(new Invalidation(event.getOrigin(), event.getType(), event.getProvider(),
+                event.getProviderUserId(), Instant.ofEpochMilli(clock.getAsLong())));
+    }
+
+    @Override
+    public void subscribe(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Delivers all events committed since the last poll.
+     */
+    public void poll() {
+        synchronized (pollLock) {
+            long now = clock.getAsLong();
+
+            if (now - lastPoll > retentionMillis) {
+                // Events might have been removed before we've been able to read them.
+                logger.warn("Invalidation events not polled for {} ms - evicting all caches.", now - lastPoll);
+
+                lastVersion = invalidationRepository.findMaxId();
+                lastPoll = now;
+                gaps.clear();
+                notifyEventsLost();
+                return;
+            }
+
+            lastPoll = now;
+
+            // Deliver events of transactions that have committed out of order.
+            if (!gaps.isEmpty()) {
+                for (Invalidation invalidation : invalidationRepository.findByIdIn(new ArrayList<>(gaps.keySet()))) {
+                    gaps.remove(invalidation.getId());
+                    deliver(invalidation);
+                }
+
+                gaps.values().removeIf(skipped -> now - skipped > gapTimeoutMillis);
+            }
+
+            // Deliver new events.
+            boolean eventsLost = false;
+
+            for (Invalidation invalidation : invalidationRepository
+                    .findByIdGreaterThanOrderByIdAsc(lastVersion, PageRequest.of(0, batchSize))) {
+                if (invalidation.getId() - lastVersion - 1 > MAX_GAPS) {
+                    eventsLost = true;
+                } else {
+                    for (long version = lastVersion + 1; version < invalidation.getId(); ++version) {
+                        gaps.put(version, now);
+                    }
+                }
+
+                lastVersion = invalidation.getId();
+                deliver(invalidation);
+            }
+
+            if (eventsLost || gaps.size() > MAX_GAPS) {
+                logger.warn("Too many invalidation events missing - evicting all caches.");
+
+                gaps.clear();
+                notifyEventsLost();
+            }
+        }
+    }
+
+    /**
+     * Removes all events older than the configured retention time.
+     */
+    public void prune() {
+        int removed = invalidationRepository.deleteByCreatedBefore(
+                Instant.ofEpochMilli(clock.getAsLong() - retentionMillis));
+
+        if (removed > 0) {
+            logger.debug("Invalidation events pruned - {} events.", removed);
+        }
+    }
+
+    private void deliver(Invalidation invalidation) {
+        InvalidationEvent event = new InvalidationEvent(invalidation.getId(), invalidation.getOrigin(),
+                invalidation.getType(), invalidation.getProvider(), invalidation.getProviderUserId());
+
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(event);
+            } catch (RuntimeException e) {
+                logger.error("Failed to deliver invalidation event " + event.getVersion() + ".", e);
+            }
+        }
+    }
+
+    private void notifyEventsLost() {
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.onEventsLost();
+            } catch (RuntimeException e) {
+                logger.error("Failed to notify listener of lost invalidation events.", e);
+            }
+        }
+    }
+}
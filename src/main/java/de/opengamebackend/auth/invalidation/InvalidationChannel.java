@@ -0,0 +1,21 @@
+package de.opengamebackend.auth.invalidation;
+
+/**
+ * Delivers invalidation events to all replicas.
+ */
+public interface InvalidationChannel {
+    /**
+     * Publishes the specified event to all replicas, as soon as the current transaction (if any) commits. Events of
+     * transactions that are rolled back are never delivered.
+     *
+     * @param event Event to publish.
+     */
+    void publish(InvalidationEvent event);
+
+    /**
+     * Delivers all events received by this replica to the specified listener from now on.
+     *
+     * @param listener Listener to deliver events to.
+     */
+    void subscribe(InvalidationListener listener);
+}
@@ -0,0 +1,84 @@
+package de.opengamebackend.auth.invalidation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConstructorBinding
+@ConfigurationProperties("de.opengamebackend.auth.invalidation")
+public class InvalidationConfig {
+    private String backend;
+    private long pollIntervalMs;
+    private long pruneIntervalMs;
+    private long retentionSeconds;
+    private long gapTimeoutSeconds;
+    private int batchSize;
+    private int maxPlayerEvents;
+
+    public InvalidationConfig(@DefaultValue("database") String backend,
+                              @DefaultValue("1000") long pollIntervalMs,
+                              @DefaultValue("60000") long pruneIntervalMs,
+                              @DefaultValue("3600") long retentionSeconds,
+                              @DefaultValue("30") long gapTimeoutSeconds,
+                              @DefaultValue("1000") int batchSize,
+                              @DefaultValue("100") int maxPlayerEvents) {
+        this.backend = backend;
+        this.pollIntervalMs = pollIntervalMs;
+        this.pruneIntervalMs = pruneIntervalMs;
+        this.retentionSeconds = retentionSeconds;
+        this.gapTimeoutSeconds = gapTimeoutSeconds;
+        this.batchSize = batchSize;
+        this.maxPlayerEvents = maxPlayerEvents;
+    }
+
+    /**
+     * Gets the channel to deliver invalidation events with, either {@code database} or {@code loopback}.
+     */
+    public String getBackend() {
+        return backend;
+    }
+
+    /**
+     * Gets the time between polling for new events, in milliseconds.
+     */
+    public long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    /**
+     * Gets the time between removing old events from the database, in milliseconds.
+     */
+    public long getPruneIntervalMs() {
+        return pruneIntervalMs;
+    }
+
+    /**
+     * Gets the time after which events are removed from the database, in seconds. Replicas that haven't polled for
+     * longer than this evict everything they've cached.
+     */
+    public long getRetentionSeconds() {
+        return retentionSeconds;
+    }
+
+    /**
+     * Gets the time to wait for events of transactions committing out of order, in seconds.
+     */
+    public long getGapTimeoutSeconds() {
+        return gapTimeoutSeconds;
+    }
+
+    /**
+     * Gets the maximum number of events to read from the database per poll.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets the maximum number of players to publish separate events for when changing many players at once. Larger
+     * changes evict all players instead.
+     */
+    public int getMaxPlayerEvents() {
+        return maxPlayerEvents;
+    }
+}
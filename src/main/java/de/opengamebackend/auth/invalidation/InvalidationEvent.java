@@ -0,0 +1,83 @@
+package de.opengamebackend.auth.invalidation;
+
+/**
+ * Notifies replicas of data that has changed, so they can evict their in-memory copies of it.
+ *
+ * Each event is stamped with a version by the channel it is published to. Versions increase in the order events have
+ * been published in, allowing channels to tell missed events from duplicate ones.
+ */
+public class InvalidationEvent {
+    private final long version;
+    private final String origin;
+    private final InvalidationType type;
+    private final String provider;
+    private final String providerUserId;
+
+    public InvalidationEvent(long version, String origin, InvalidationType type, String provider,
+                             String providerUserId) {
+        this.version = version;
+        this.origin = origin;
+        this.type = type;
+        this.provider = provider;
+        this.providerUserId = providerUserId;
+    }
+
+    /**
+     * Creates a new event for a changed player, which hasn't been stamped with a version yet.
+     *
+     * @param origin Id of the replica that has changed the player.
+     * @param provider Auth provider of the changed player.
+     * @param providerUserId Provider-specific id of the changed player.
+     * @return New event.
+     */
+    public static InvalidationEvent player(String origin, String provider, String providerUserId) {
+        return new InvalidationEvent(0L, origin, InvalidationType.PLAYER, provider, providerUserId);
+    }
+
+    /**
+     * Creates a new event for changing all players, which hasn't been stamped with a version yet.
+     *
+     * @param origin Id of the replica that has changed the players.
+     * @return New event.
+     */
+    public static InvalidationEvent allPlayers(String origin) {
+        return new InvalidationEvent(0L, origin, InvalidationType.ALL_PLAYERS, null, null);
+    }
+
+    /**
+     * Creates a new event for changed secret keys, which hasn't been stamped with a version yet.
+     *
+     * @param origin Id of the replica that has changed the secret keys.
+     * @return New event.
+     */
+    public static InvalidationEvent secretKeys(String origin) {
+        return new InvalidationEvent(0L, origin, InvalidationType.SECRET_KEYS, null, null);
+    }
+
+    /**
+     * Creates a copy of this event, stamped with the specified version.
+     */
+    public InvalidationEvent withVersion(long version) {
+        return new InvalidationEvent(version, origin, type, provider, providerUserId);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public InvalidationType getType() {
+        return type;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public String getProviderUserId() {
+        return providerUserId;
+    }
+}
@@ -0,0 +1,16 @@
+package de.opengamebackend.auth.invalidation;
+
+public interface InvalidationListener {
+    /**
+     * Called for each event published by any replica, including this one.
+     *
+     * @param event Published event.
+     */
+    void onInvalidation(InvalidationEvent event);
+
+    /**
+     * Called if events may have been missed, e.g. because this replica hasn't been able to receive events for a long
+     * time. Listeners should evict everything they've cached.
+     */
+    void onEventsLost();
+}
@@ -0,0 +1,18 @@
+package de.opengamebackend.auth.invalidation;
+
+public enum InvalidationType {
+    /**
+     * A single player has changed, e.g. has been locked or unlocked.
+     */
+    PLAYER,
+
+    /**
+     * Too many players have changed to publish an event for each of them, e.g. in a ban wave.
+     */
+    ALL_PLAYERS,
+
+    /**
+     * Secret keys have been added or removed.
+     */
+    SECRET_KEYS
+}
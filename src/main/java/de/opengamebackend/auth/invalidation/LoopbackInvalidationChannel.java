@@ -0,0 +1,37 @@
+package de.opengamebackend.auth.invalidation;
+
+import de.opengamebackend.auth.model.Transactions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers events to listeners within this JVM only, synchronously as soon as the publishing transaction commits.
+ *
+ * Suited for running a single replica, and for tests simulating several replicas within the same JVM.
+ */
+@Component
+@ConditionalOnProperty(name = "de.opengamebackend.auth.invalidation.backend", havingValue = "loopback")
+public class LoopbackInvalidationChannel implements InvalidationChannel {
+    private final AtomicLong version = new AtomicLong();
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        Transactions.afterCommit(() -> {
+            InvalidationEvent stampedEvent = event.withVersion(version.incrementAndGet());
+
+            for (InvalidationListener listener : listeners) {
+                listener.onInvalidation(stampedEvent);
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,70 @@
+package de.opengamebackend.auth.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Exposes the queue depth and dropped events of all {@link RingBufferAppender}s attached to any logger.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+    public static final String QUEUE_SIZE_GAUGE = "auth.logging.queue.size";
+    public static final String QUEUE_CAPACITY_GAUGE = "auth.logging.queue.capacity";
+    public static final String DROPPED_COUNTER = "auth.logging.dropped";
+
+    private static final Level[] LEVELS = { Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR };
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+
+        if (!(loggerFactory instanceof LoggerContext)) {
+            return;
+        }
+
+        for (Logger logger : ((LoggerContext)loggerFactory).getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                Appender<ILoggingEvent> appender = it.next();
+
+                if (appender instanceof RingBufferAppender) {
+                    bindTo(registry, (RingBufferAppender)appender);
+                }
+            }
+        }
+    }
+
+    private void bindTo(MeterRegistry registry, RingBufferAppender appender) {
+        if (!appender.isAsync()) {
+            return;
+        }
+
+        Gauge.builder(QUEUE_SIZE_GAUGE, appender, RingBufferAppender::getQueueSize)
+                .description("Number of logging events waiting to be written.")
+                .tag("appender", appender.getName())
+                .register(registry);
+        Gauge.builder(QUEUE_CAPACITY_GAUGE, appender, RingBufferAppender::getQueueCapacity)
+                .description("Maximum number of logging events that can wait to be written.")
+                .tag("appender", appender.getName())
+                .register(registry);
+
+        for (Level level : LEVELS) {
+            FunctionCounter.builder(DROPPED_COUNTER, appender, a -> a.getDropped(level))
+                    .description("Number of logging events dropped because too many were waiting to be written.")
+                    .tag("appender", appender.getName())
+                    .tag("level", level.toString())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package de.opengamebackend.auth.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ *
+ * Each slot carries a sequence number telling producers and the consumer whose turn it is, so producers only contend
+ * on claiming the next position, and never block each other or the consumer while writing their element.
+ *
+ * @param <E> Type of the elements.
+ */
+class RingBuffer<E> {
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * Creates a new empty buffer.
+     *
+     * @param capacity Maximum number of elements, rounded up to the next power of two.
+     */
+    RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; ++i) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds the specified element, if there's space left. Safe to call from any thread.
+     *
+     * @param element Element to add.
+     * @return true, if the element has been added, and false if the buffer is full.
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+
+        while (true) {
+            int index = (int)(position & mask);
+            long available = sequences.get(index) - position;
+
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+
+                    // Publish the element to the consumer.
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+
+                position = tail.get();
+            } else if (available < 0) {
+                // The consumer hasn't freed this slot yet.
+                return false;
+            } else {
+                // Another producer has claimed this position.
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element. Must only be called from the consumer thread.
+     *
+     * @return Oldest element, or null if the buffer is empty.
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = head;
+        int index = (int)(position & mask);
+
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+
+        E element = (E)elements[index];
+        elements[index] = null;
+
+        // Free the slot for the producer coming around next time.
+        sequences.lazySet(index, position + elements.length);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Gets the approximate number of elements in the buffer.
+     */
+    int size() {
+        long size = tail.get() - head;
+        return (int)Math.max(0, Math.min(size, elements.length));
+    }
+
+    /**
+     * Gets the maximum number of elements in the buffer.
+     */
+    int capacity() {
+        return elements.length;
+    }
+}
@@ -0,0 +1,286 @@
+package de.opengamebackend.auth.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Passes each logging event to all attached appenders, optionally on a background thread.
+ *
+ * If async, logging threads only capture the event and put it into a bounded lock-free ring buffer, while formatting
+ * and writing the event, once per attached appender, happens on a single background thread. If the buffer is full,
+ * events below the blocking level are dropped right away, and all other events wait for space up to the maximum
+ * blocking time before being dropped, so logging can never stall requests indefinitely.
+ *
+ * If not async, events are passed to all attached appenders on the logging thread.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+    private static final int SPINS_BEFORE_PARKING = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long FLUSH_TIMEOUT_MILLIS = 1000;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private boolean async;
+    private int bufferSize = 8192;
+    private Level blockingLevel = Level.WARN;
+    private long maxBlockMillis = 100;
+
+    private RingBuffer<ILoggingEvent> buffer;
+    private volatile Thread worker;
+    private volatile boolean running;
+    private volatile boolean workerParked;
+
+    /** Dropped events, indexed by level. */
+    private final LongAdder[] dropped = new LongAdder[] {
+            new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder() };
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+
+        if (async) {
+            buffer = new RingBuffer<>(bufferSize);
+            running = true;
+
+            worker = new Thread(this::dispatch, "logging-" + getName());
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+
+        super.stop();
+
+        Thread worker = this.worker;
+
+        if (worker != null) {
+            // Let the worker write all remaining events before shutting down.
+            running = false;
+            LockSupport.unpark(worker);
+
+            try {
+                worker.join(FLUSH_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (worker.isAlive()) {
+                addWarn("Failed to write " + buffer.size() + " remaining logging events within "
+                        + FLUSH_TIMEOUT_MILLIS + " ms.");
+            }
+
+            this.worker = null;
+        }
+
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        Thread worker = this.worker;
+
+        if (worker == null || Thread.currentThread() == worker) {
+            // Synchronous mode, or an attached appender logging itself.
+            appenders.appendLoopOnAppenders(event);
+            return;
+        }
+
+        // Capture everything the event refers to that might change until it's written.
+        event.prepareForDeferredProcessing();
+
+        if (!enqueue(event, worker)) {
+            dropped[levelIndex(event.getLevel())].increment();
+            return;
+        }
+
+        if (workerParked) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private boolean enqueue(ILoggingEvent event, Thread worker) {
+        if (buffer.offer(event)) {
+            return true;
+        }
+
+        if (!event.getLevel().isGreaterOrEqual(blockingLevel) || maxBlockMillis <= 0) {
+            return false;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxBlockMillis);
+
+        do {
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+
+            if (buffer.offer(event)) {
+                return true;
+            }
+        } while (System.nanoTime() < deadline && running);
+
+        return false;
+    }
+
+    private void dispatch() {
+        int idleSpins = 0;
+
+        while (true) {
+            ILoggingEvent event = buffer.poll();
+
+            if (event != null) {
+                idleSpins = 0;
+
+                try {
+                    appenders.appendLoopOnAppenders(event);
+                } catch (RuntimeException e) {
+                    addError("Failed to write logging event.", e);
+                }
+
+                continue;
+            }
+
+            if (!running) {
+                return;
+            }
+
+            if (++idleSpins < SPINS_BEFORE_PARKING) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            // Check once more after announcing we're about to park, so no event is left behind until the timeout.
+            workerParked = true;
+
+            if (buffer.size() == 0 && running) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+
+            workerParked = false;
+        }
+    }
+
+    /**
+     * Gets the number of events waiting to be written.
+     */
+    public int getQueueSize() {
+        return buffer != null ? buffer.size() : 0;
+    }
+
+    /**
+     * Gets the maximum number of events that can wait to be written.
+     */
+    public int getQueueCapacity() {
+        return buffer != null ? buffer.capacity() : 0;
+    }
+
+    /**
+     * Gets the number of events of the specified level that have been dropped because the buffer was full.
+     */
+    public long getDropped(Level level) {
+        return dropped[levelIndex(level)].sum();
+    }
+
+    private static int levelIndex(Level level) {
+        // TRACE to ERROR.
+        return Math.min(Math.max(level.toInt() / Level.DEBUG_INT, 0), 4);
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Sets whether to write events on a background thread.
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Sets the maximum number of events waiting to be written, rounded up to the next power of two.
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Level getBlockingLevel() {
+        return blockingLevel;
+    }
+
+    /**
+     * Sets the minimum level of events waiting for space if the buffer is full. Events below are dropped right away.
+     */
+    public void setBlockingLevel(Level blockingLevel) {
+        this.blockingLevel = blockingLevel;
+    }
+
+    public long getMaxBlockMillis() {
+        return maxBlockMillis;
+    }
+
+    /**
+     * Sets the maximum time events may wait for space if the buffer is full, in milliseconds, before being dropped.
+     */
+    public void setMaxBlockMillis(long maxBlockMillis) {
+        this.maxBlockMillis = maxBlockMillis;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,168 @@
+package de.opengamebackend.auth.metrics;
+
+import de.opengamebackend.net.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times each stage of the login path and counts failed logins by error code.
+ *
+ * All meters are registered once and cached, so recording a stage doesn't need to look up meters by tags on every
+ * login. The meters of each auth provider are the only record of its authentications, and are read back for
+ * {@link de.opengamebackend.auth.controller.providers.AuthProviderRegistry#getProviders()} as well.
+ */
+@Component
+public class LoginMetrics {
+    public static final String STAGE_TIMER = "auth.login.stage";
+    public static final String AUTHENTICATE_TIMER = "auth.login.authenticate";
+    public static final String FAILURE_COUNTER = "auth.login.failures";
+    public static final String REJECTED_COUNTER = "auth.login.rejected";
+
+    private final MeterRegistry registry;
+
+    private final Map<LoginStage, Timer> stageTimers = new EnumMap<>(LoginStage.class);
+    private final Map<String, ProviderMeters> providerMeters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failureCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoginMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        for (LoginStage stage : LoginStage.values()) {
+            stageTimers.put(stage, Timer.builder(STAGE_TIMER)
+                    .description("Time spent in each stage of logging in players.")
+                    .tag("stage", stage.getTagValue())
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Starts timing a stage.
+     *
+     * @return Start time to pass to {@link #record(LoginStage, long)} when the stage has finished.
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time spent in the specified stage.
+     *
+     * @param stage Stage that has finished.
+     * @param startTime Start time returned by {@link #start()}.
+     */
+    public void record(LoginStage stage, long startTime) {
+        stageTimers.get(stage).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the result of authenticating with the specified provider, and the time spent on it.
+     *
+     * @param providerId Id of the provider that has been used for authenticating.
+     * @param successful Whether authentication succeeded.
+     * @param startTime Start time returned by {@link #start()}.
+     */
+    public void recordAuthentication(String providerId, boolean successful, long startTime) {
+        providerMeters(providerId).authentications(successful)
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a login rejected because the specified provider has been disabled.
+     *
+     * @param providerId Id of the disabled provider.
+     */
+    public void recordRejection(String providerId) {
+        providerMeters(providerId).rejections.increment();
+    }
+
+    /**
+     * Gets the number of authentications with the specified provider since startup.
+     *
+     * @param providerId Id of the provider to get the number of authentications of.
+     * @param successful Whether to count successful or failed authentications.
+     * @return Number of authentications.
+     */
+    public long getAuthentications(String providerId, boolean successful) {
+        return providerMeters(providerId).authentications(successful).count();
+    }
+
+    /**
+     * Gets the total time spent authenticating with the specified provider since startup, successful or not.
+     *
+     * @param providerId Id of the provider to get the time of.
+     * @param unit Unit to get the time in.
+     * @return Total time spent authenticating.
+     */
+    public double getAuthenticationTime(String providerId, TimeUnit unit) {
+        ProviderMeters meters = providerMeters(providerId);
+        return meters.successful.totalTime(unit) + meters.failed.totalTime(unit);
+    }
+
+    /**
+     * Gets the number of logins rejected because the specified provider has been disabled, since startup.
+     *
+     * @param providerId Id of the provider to get the number of rejected logins of.
+     * @return Number of rejected logins.
+     */
+    public long getRejections(String providerId) {
+        return (long)providerMeters(providerId).rejections.count();
+    }
+
+    /**
+     * Counts a failed login.
+     *
+     * @param e Error the login has failed with.
+     * @return Passed error, for throwing it right away.
+     */
+    public ApiException recordFailure(ApiException e) {
+        failureCounters.computeIfAbsent(String.valueOf(e.getErrorCode()), code -> Counter.builder(FAILURE_COUNTER)
+                .description("Number of failed logins by error code.")
+                .tag("code", code)
+                .register(registry))
+                .increment();
+        return e;
+    }
+
+    private ProviderMeters providerMeters(String providerId) {
+        return providerMeters.computeIfAbsent(providerId, id -> new ProviderMeters(
+                authenticationTimer(id, "success"),
+                authenticationTimer(id, "failure"),
+                Counter.builder(REJECTED_COUNTER)
+                        .description("Number of logins rejected because their auth provider has been disabled.")
+                        .tag("provider", id)
+                        .register(registry)));
+    }
+
+    private Timer authenticationTimer(String providerId, String result) {
+        return Timer.builder(AUTHENTICATE_TIMER)
+                .description("Time spent authenticating players with auth providers.")
+                .tag("provider", providerId)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static class ProviderMeters {
+        private final Timer successful;
+        private final Timer failed;
+        private final Counter rejections;
+
+        private ProviderMeters(Timer successful, Timer failed, Counter rejections) {
+            this.successful = successful;
+            this.failed = failed;
+            this.rejections = rejections;
+        }
+
+        private Timer authentications(boolean successful) {
+            return successful ? this.successful : failed;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package de.opengamebackend.auth.metrics;
+
+/**
+ * Stages of logging in a player, as timed by {@link LoginMetrics}.
+ */
+public enum LoginStage {
+    PROVIDER_LOOKUP("provider_lookup"),
+    ROLE_LOOKUP("role_lookup"),
+    PLAYER_LOOKUP("player_lookup"),
+    FIRST_TIME_SETUP("first_time_setup"),
+    SAVE("save"),
+    RESPONSE_BUILD("response_build");
+
+    private final String tagValue;
+
+    LoginStage(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    public String getTagValue() {
+        return tagValue;
+    }
+}
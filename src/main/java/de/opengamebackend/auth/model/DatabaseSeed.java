@@ -13,12 +13,18 @@ public class DatabaseSeed {
     @Autowired
     RoleRepository roleRepository;
 
+    @Autowired
+    RoleRegistry roleRegistry;
+
     @PostConstruct
     public void postConstruct() {
         // Seed roles.
         getOrCreateRole(AuthRole.ROLE_ADMIN);
         getOrCreateRole(AuthRole.ROLE_SERVER);
         getOrCreateRole(AuthRole.ROLE_USER);
+
+        // Cache roles.
+        roleRegistry.invalidate();
     }
 
     @Transactional
@@ -0,0 +1,152 @@
+package de.opengamebackend.auth.model;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory copy of recently logged in players, allowing returning players to log in without hitting the
+ * database.
+ *
+ * Players are only added once the transaction that has loaded or created them commits, and only if no player has been
+ * invalidated since they've been loaded, so a concurrent change can never be overwritten by the stale copy of a login.
+ * Changes made by this replica are applied right away and again on commit, while changes made by other replicas are
+ * applied as soon as they're received through {@link de.opengamebackend.auth.invalidation.CacheInvalidator}, and
+ * picked up once the cached copy expires at the latest.
+ */
+@Component
+public class PlayerCache {
+    public static final String CACHE_NAME = "auth.players";
+
+    private final boolean enabled;
+    private final Cache<Key, PlayerSnapshot> players;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public PlayerCache(PlayerCacheConfig config, MeterRegistry meterRegistry) {
+        this.enabled = config.isEnabled();
+        this.players = CacheBuilder.newBuilder()
+                .maximumSize(config.getMaxPlayers())
+                .expireAfterWrite(config.getTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        GuavaCacheMetrics.monitor(meterRegistry, players, CACHE_NAME);
+    }
+
+    /**
+     * Gets the cached copy of the specified player.
+     *
+     * @param provider Auth provider of the player to get.
+     * @param providerUserId Provider-specific id of the player to get.
+     * @return Cached copy of the player, or null if the player isn't cached.
+     */
+    public PlayerSnapshot get(String provider, String providerUserId) {
+        return enabled ? players.getIfPresent(new Key(provider, providerUserId)) : null;
+    }
+
+    /**
+     * Gets a stamp to pass to {@link #put(PlayerSnapshot, long)}, which has to be taken before loading the player.
+     *
+     * @return Number of invalidations so far.
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Adds the specified player, as soon as the current transaction (if any) commits, unless any player has been
+     * invalidated since the specified stamp has been taken.
+     *
+     * @param player Player to add.
+     * @param stamp Stamp taken before loading the player.
+     */
+    public void put(PlayerSnapshot player, long stamp) {
+        if (!enabled) {
+            return;
+        }
+
+        Transactions.afterCommit(() -> {
+            if (invalidations.get() != stamp) {
+                return;
+            }
+
+            Key key = new Key(player.getProvider(), player.getProviderUserId());
+            players.put(key, player);
+
+            // Invalidations count up before evicting, so one that has evicted between the check and the put is
+            // always seen here. Take back the stale copy in that case, unless it has been replaced already.
+            if (invalidations.get() != stamp) {
+                players.asMap().remove(key, player);
+            }
+        });
+    }
+
+    /**
+     * Removes the specified player right away, and again as soon as the current transaction (if any) commits, so
+     * logins reading the player before that commit don't cache the old state.
+     *
+     * @param provider Auth provider of the player to remove.
+     * @param providerUserId Provider-specific id of the player to remove.
+     */
+    public void invalidate(String provider, String providerUserId) {
+        Key key = new Key(provider, providerUserId);
+
+        invalidations.incrementAndGet();
+        players.invalidate(key);
+
+        Transactions.afterCommit(() -> {
+            invalidations.incrementAndGet();
+            players.invalidate(key);
+        });
+    }
+
+    /**
+     * Removes all players, e.g. after roles have been changed.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        players.invalidateAll();
+
+        Transactions.afterCommit(() -> {
+            invalidations.incrementAndGet();
+            players.invalidateAll();
+        });
+    }
+
+    private static class Key {
+        private final String provider;
+        private final String providerUserId;
+
+        private Key(String provider, String providerUserId) {
+            this.provider = provider;
+            this.providerUserId = providerUserId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key)o;
+            return Objects.equals(provider, other.provider) && Objects.equals(providerUserId, other.providerUserId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(provider) + Objects.hashCode(providerUserId);
+        }
+    }
+}
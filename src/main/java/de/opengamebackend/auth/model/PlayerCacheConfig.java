@@ -0,0 +1,43 @@
+package de.opengamebackend.auth.model;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConstructorBinding
+@ConfigurationProperties("de.opengamebackend.auth.player-cache")
+public class PlayerCacheConfig {
+    private boolean enabled;
+    private long maxPlayers;
+    private long ttlSeconds;
+
+    public PlayerCacheConfig(@DefaultValue("true") boolean enabled,
+                             @DefaultValue("100000") long maxPlayers,
+                             @DefaultValue("300") long ttlSeconds) {
+        this.enabled = enabled;
+        this.maxPlayers = maxPlayers;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * Gets whether to serve logins of returning players from memory.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the maximum number of players to keep in memory.
+     */
+    public long getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    /**
+     * Gets the time after which players are loaded from the database again, in seconds. Bounds how long changes made
+     * by other replicas may take to become visible, even if their invalidation events get lost.
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+}
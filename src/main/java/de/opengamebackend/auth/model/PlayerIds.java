@@ -0,0 +1,113 @@
+package de.opengamebackend.auth.model;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates time-ordered player ids, and converts them to the binary form stored in the database.
+ *
+ * Ids follow the layout of UUID version 7: 48 bits of milliseconds since the epoch, followed by a 12 bit sequence and
+ * 62 random bits. New players are thus appended to the end of the primary key index, instead of being scattered
+ * across it. Each thread keeps its own sequence and random numbers, so generating ids never contends. Ids generated
+ * by the same thread are strictly increasing, while ids generated by different threads in the same millisecond are
+ * kept apart by their random bits.
+ */
+public final class PlayerIds {
+    /**
+     * Length of player ids in their binary form, in bytes.
+     */
+    public static final int BYTES = 16;
+
+    /**
+     * Smallest possible player id.
+     */
+    public static final String MIN = new UUID(0, 0).toString();
+
+    private static final int STRING_LENGTH = 36;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int MAX_SEQUENCE = (1 << SEQUENCE_BITS) - 1;
+    private static final long VERSION = 7L << SEQUENCE_BITS;
+    private static final long VARIANT = 1L << 63;
+    private static final long RANDOM_MASK = (1L << 62) - 1;
+
+    private static final ThreadLocal<Sequence> SEQUENCES = ThreadLocal.withInitial(Sequence::new);
+
+    private PlayerIds() {
+    }
+
+    /**
+     * Generates a new player id, ordered after all ids generated by the same thread before.
+     *
+     * @return New player id in string form.
+     */
+    public static String generate() {
+        return generate(System.currentTimeMillis()).toString();
+    }
+
+    static UUID generate(long now) {
+        Sequence sequence = SEQUENCES.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        if (now > sequence.lastMillis) {
+            // Start each millisecond in the lower half of the sequence, leaving room for bursts.
+            sequence.lastMillis = now;
+            sequence.value = random.nextInt(MAX_SEQUENCE / 2);
+        } else if (sequence.value < MAX_SEQUENCE) {
+            // Same millisecond, or clock moved backwards - keep counting up to stay ordered.
+            sequence.value++;
+        } else {
+            // Sequence exhausted - borrow from the next millisecond.
+            sequence.lastMillis++;
+            sequence.value = 0;
+        }
+
+        long msb = (sequence.lastMillis << 16) | VERSION | sequence.value;
+        long lsb = VARIANT | (random.nextLong() & RANDOM_MASK);
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Checks whether the specified string is a valid player id.
+     *
+     * @param id String to check.
+     * @return true, if the string is a player id, and false otherwise.
+     */
+    public static boolean isValid(String id) {
+        if (id == null || id.length() != STRING_LENGTH) {
+            return false;
+        }
+
+        try {
+            UUID.fromString(id);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Converts the specified player id to its binary form.
+     *
+     * @param id Player id in string form.
+     * @return Player id in binary form.
+     * @throws IllegalArgumentException If the specified string is not a valid player id.
+     */
+    public static byte[] toBytes(String id) {
+        if (!isValid(id)) {
+            throw new IllegalArgumentException("Invalid player id: " + id);
+        }
+
+        UUID uuid = UUID.fromString(id);
+        return ByteBuffer.allocate(BYTES)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static class Sequence {
+        private long lastMillis;
+        private int value;
+    }
+}
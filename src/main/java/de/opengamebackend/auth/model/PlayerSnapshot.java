@@ -0,0 +1,56 @@
+package de.opengamebackend.auth.model;
+
+import com.google.common.collect.ImmutableList;
+import de.opengamebackend.auth.model.entities.Player;
+
+import java.util.List;
+
+/**
+ * Immutable copy of everything logging in a returning player needs to know about them.
+ */
+public class PlayerSnapshot {
+    private final String id;
+    private final String provider;
+    private final String providerUserId;
+    private final ImmutableList<String> roles;
+    private final boolean locked;
+
+    public PlayerSnapshot(String id, String provider, String providerUserId, List<String> roles, boolean locked) {
+        this.id = id;
+        this.provider = provider;
+        this.providerUserId = providerUserId;
+        this.roles = ImmutableList.copyOf(roles);
+        this.locked = locked;
+    }
+
+    /**
+     * Copies the specified player, including the names of all of their roles.
+     *
+     * @param player Player to copy.
+     * @return Copy of the player.
+     */
+    public static PlayerSnapshot of(Player player) {
+        return new PlayerSnapshot(player.getId(), player.getProvider(), player.getProviderUserId(),
+                RoleMask.names(player.getRoleMask()), player.isLocked());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public String getProviderUserId() {
+        return providerUserId;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public boolean isLocked() {
+        return locked;
+    }
+}
@@ -0,0 +1,102 @@
+package de.opengamebackend.auth.model;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts between roles and the bitmask stored with each player.
+ *
+ * Bits are assigned explicitly instead of by declaration order of {@link AuthRole}, as they're persisted. Changing
+ * them requires a migration of auth_player.role_mask.
+ */
+public final class RoleMask {
+    private static final Map<AuthRole, Integer> BITS = ImmutableMap.of(
+            AuthRole.ROLE_ADMIN, 1,
+            AuthRole.ROLE_SERVER, 1 << 1,
+            AuthRole.ROLE_USER, 1 << 2);
+
+    private static final Map<AuthRole, List<Integer>> MASKS_CONTAINING = new EnumMap<>(AuthRole.class);
+
+    static {
+        int allBits = 0;
+
+        for (int bit : BITS.values()) {
+            allBits |= bit;
+        }
+
+        for (Map.Entry<AuthRole, Integer> role : BITS.entrySet()) {
+            ImmutableList.Builder<Integer> masks = ImmutableList.builder();
+
+            for (int mask = 0; mask <= allBits; ++mask) {
+                if ((mask & role.getValue()) != 0) {
+                    masks.add(mask);
+                }
+            }
+
+            MASKS_CONTAINING.put(role.getKey(), masks.build());
+        }
+    }
+
+    private RoleMask() {
+    }
+
+    /**
+     * Gets the bit of the specified role.
+     *
+     * @param role Role to get the bit of.
+     * @return Bit of the role.
+     */
+    public static int of(AuthRole role) {
+        return BITS.get(role);
+    }
+
+    /**
+     * Gets the bit of the role with the specified name.
+     *
+     * @param roleName Name of the role to get the bit of.
+     * @return Bit of the role, or 0 if there is no such role.
+     */
+    public static int of(String roleName) {
+        for (Map.Entry<AuthRole, Integer> role : BITS.entrySet()) {
+            if (role.getKey().name().equals(roleName)) {
+                return role.getValue();
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Gets the names of all roles in the specified mask.
+     *
+     * @param mask Mask to get the roles of.
+     * @return Names of all roles in the mask.
+     */
+    public static List<String> names(int mask) {
+        ImmutableList.Builder<String> names = ImmutableList.builder();
+
+        for (Map.Entry<AuthRole, Integer> role : BITS.entrySet()) {
+            if ((mask & role.getValue()) != 0) {
+                names.add(role.getKey().name());
+            }
+        }
+
+        return names.build();
+    }
+
+    /**
+     * Gets all masks containing the specified role.
+     *
+     * Queries filter by these masks instead of testing the bit of the role, which neither JPQL nor indexes support.
+     *
+     * @param role Role to get the masks for.
+     * @return All masks containing the role.
+     */
+    public static List<Integer> containing(AuthRole role) {
+        return MASKS_CONTAINING.get(role);
+    }
+}
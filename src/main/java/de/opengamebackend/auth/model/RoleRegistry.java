@@ -0,0 +1,53 @@
+package de.opengamebackend.auth.model;
+
+import com.google.common.collect.ImmutableMap;
+import de.opengamebackend.auth.model.entities.Role;
+import de.opengamebackend.auth.model.repositories.RoleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Immutable table of all roles, loaded once after the database has been seeded.
+ *
+ * Roles are fixed by {@link AuthRole}, so there's no need to query them on every request. If roles ever become
+ * editable, {@link #invalidate()} has to be called after each change.
+ */
+@Component
+public class RoleRegistry {
+    private final RoleRepository roleRepository;
+    private final PlayerCache playerCache;
+
+    private volatile Map<String, Role> roles = ImmutableMap.of();
+
+    @Autowired
+    public RoleRegistry(RoleRepository roleRepository, PlayerCache playerCache) {
+        this.roleRepository = roleRepository;
+        this.playerCache = playerCache;
+    }
+
+    /**
+     * Gets the role with the specified name.
+     *
+     * @param name Name of the role to get.
+     * @return Role with the specified name, or null if there is no such role.
+     */
+    public Role getRole(String name) {
+        return name != null ? roles.get(name) : null;
+    }
+
+    /**
+     * Reloads all roles from the database, and drops all cached players, as their roles might have changed.
+     */
+    public void invalidate() {
+        ImmutableMap.Builder<String, Role> builder = ImmutableMap.builder();
+
+        for (Role role : roleRepository.findAll()) {
+            builder.put(role.getName(), role);
+        }
+
+        roles = builder.build();
+        playerCache.invalidateAll();
+    }
+}
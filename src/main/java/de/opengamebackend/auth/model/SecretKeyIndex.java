@@ -0,0 +1,110 @@
+package de.opengamebackend.auth.model;
+
+import com.google.common.collect.ImmutableMap;
+import de.opengamebackend.auth.model.entities.SecretKey;
+import de.opengamebackend.auth.model.repositories.SecretKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Read-mostly in-memory copy of all valid secret keys, allowing servers to authenticate without hitting the database.
+ *
+ * Lookups read an immutable snapshot without locking, find the digest of the presented key by its id and compare both
+ * in constant time. Changes made by this replica are applied as soon as their transaction commits, while changes made
+ * by other replicas are picked up as soon as they're received through
+ * {@link de.opengamebackend.auth.invalidation.CacheInvalidator}, and by periodic reconciliation at the latest.
+ */
+@Component
+public class SecretKeyIndex implements SchedulingConfigurer {
+    private final Logger logger = LoggerFactory.getLogger(SecretKeyIndex.class);
+
+    private final SecretKeyRepository secretKeyRepository;
+    private final long refreshIntervalMillis;
+    private final Object writeLock = new Object();
+
+    private volatile Map<String, byte[]> keys = ImmutableMap.of();
+
+    @Autowired
+    public SecretKeyIndex(SecretKeyRepository secretKeyRepository, SecretKeyIndexConfig config) {
+        this.secretKeyRepository = secretKeyRepository;
+        this.refreshIntervalMillis = config.getRefreshIntervalMs();
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        reload();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(new IntervalTask(this::reload, refreshIntervalMillis, refreshIntervalMillis));
+    }
+
+    /**
+     * Checks whether the specified secret key is valid.
+     *
+     * @param key Secret key to check.
+     * @return true, if the key is valid, and false otherwise.
+     */
+    public boolean contains(String key) {
+        String keyId = SecretKeys.keyId(key);
+        return keyId != null && SecretKeys.matches(keys.get(keyId), key);
+    }
+
+    /**
+     * Adds the specified secret key to the index, as soon as the current transaction (if any) commits.
+     *
+     * @param secretKey Secret key to add.
+     */
+    public void add(SecretKey secretKey) {
+        Transactions.afterCommit(() -> update(k -> k.put(secretKey.getKeyId(), secretKey.getKeyHash())));
+    }
+
+    /**
+     * Removes the specified secret key from the index, as soon as the current transaction (if any) commits.
+     *
+     * @param keyId Id of the secret key to remove.
+     */
+    public void remove(String keyId) {
+        Transactions.afterCommit(() -> update(k -> k.remove(keyId)));
+    }
+
+    /**
+     * Replaces the index with the current contents of the database, picking up changes made by other replicas.
+     */
+    public void reload() {
+        synchronized (writeLock) {
+            ImmutableMap.Builder<String, byte[]> builder = ImmutableMap.builder();
+
+            for (SecretKey secretKey : secretKeyRepository.findAll()) {
+                builder.put(secretKey.getKeyId(), secretKey.getKeyHash());
+            }
+
+            Map<String, byte[]> newKeys = builder.build();
+
+            if (newKeys.size() != keys.size()) {
+                logger.info("Secret key index reloaded - {} keys.", newKeys.size());
+            }
+
+            keys = newKeys;
+        }
+    }
+
+    private void update(Consumer<Map<String, byte[]>> change) {
+        synchronized (writeLock) {
+            Map<String, byte[]> newKeys = new HashMap<>(keys);
+            change.accept(newKeys);
+            keys = ImmutableMap.copyOf(newKeys);
+        }
+    }
+}
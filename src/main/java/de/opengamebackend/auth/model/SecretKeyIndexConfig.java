@@ -0,0 +1,23 @@
+package de.opengamebackend.auth.model;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConstructorBinding
+@ConfigurationProperties("de.opengamebackend.auth.secret-keys")
+public class SecretKeyIndexConfig {
+    private long refreshIntervalMs;
+
+    public SecretKeyIndexConfig(@DefaultValue("60000") long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    /**
+     * Gets the time between reloading all secret keys from the database, in milliseconds. Bounds how long changes
+     * made by other replicas may take to become visible, even if their invalidation events get lost.
+     */
+    public long getRefreshIntervalMs() {
+        return refreshIntervalMs;
+    }
+}
@@ -0,0 +1,78 @@
+package de.opengamebackend.auth.model;
+
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Generates server secret keys and derives what's stored about them.
+ *
+ * Secret keys are never stored themselves. Instead, the first {@link #KEY_ID_LENGTH} characters of each key serve as
+ * its public id for looking it up, and a SHA-256 digest of the whole key for verifying it. Keys are random enough for
+ * a single unsalted digest to be safe.
+ */
+public final class SecretKeys {
+    public static final int KEY_ID_LENGTH = 16;
+    public static final int HASH_LENGTH = 32;
+
+    private static final int KEY_ID_BYTES = 12;
+    private static final int SECRET_BYTES = 32;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private SecretKeys() {
+    }
+
+    /**
+     * Generates a new random secret key, consisting of a random key id followed by 256 random bits.
+     *
+     * @return New secret key.
+     */
+    public static String generate() {
+        byte[] keyId = new byte[KEY_ID_BYTES];
+        byte[] secret = new byte[SECRET_BYTES];
+
+        RANDOM.nextBytes(keyId);
+        RANDOM.nextBytes(secret);
+
+        return ENCODER.encodeToString(keyId).concat(ENCODER.encodeToString(secret));
+    }
+
+    /**
+     * Gets the id of the specified secret key.
+     *
+     * Passing a key id returns the key id itself.
+     *
+     * @param key Secret key to get the id of.
+     * @return Id of the key, or null if the key is too short to have one.
+     */
+    public static String keyId(String key) {
+        return key != null && key.length() >= KEY_ID_LENGTH ? key.substring(0, KEY_ID_LENGTH) : null;
+    }
+
+    /**
+     * Computes the digest stored for the specified secret key.
+     *
+     * @param key Secret key to compute the digest of.
+     * @return SHA-256 digest of the key.
+     */
+    public static byte[] hash(String key) {
+        return Hashing.sha256().hashString(key, StandardCharsets.UTF_8).asBytes();
+    }
+
+    /**
+     * Checks whether the specified secret key matches the specified digest, taking the same time no matter where they
+     * differ.
+     *
+     * @param hash Digest stored for the key.
+     * @param key Secret key to check.
+     * @return true, if the key matches the digest, and false otherwise.
+     */
+    public static boolean matches(byte[] hash, String key) {
+        return hash != null && key != null && MessageDigest.isEqual(hash, hash(key));
+    }
+}
@@ -0,0 +1,28 @@
+package de.opengamebackend.auth.model;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class Transactions {
+    private Transactions() {
+    }
+
+    /**
+     * Runs the specified action as soon as the current transaction commits, or right away if there is none.
+     *
+     * @param action Action to run.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
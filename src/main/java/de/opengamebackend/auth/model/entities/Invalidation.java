@@ -0,0 +1,64 @@
+package de.opengamebackend.auth.model.entities;
+
+import de.opengamebackend.auth.invalidation.InvalidationType;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "auth_invalidation")
+public class Invalidation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(nullable = false)
+    private String origin;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private InvalidationType type;
+
+    private String provider;
+
+    private String providerUserId;
+
+    @Column(nullable = false)
+    private Instant created;
+
+    public Invalidation() {
+    }
+
+    public Invalidation(String origin, InvalidationType type, String provider, String providerUserId,
+                        Instant created) {
+        this.origin = origin;
+        this.type = type;
+        this.provider = provider;
+        this.providerUserId = providerUserId;
+        this.created = created;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public InvalidationType getType() {
+        return type;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public String getProviderUserId() {
+        return providerUserId;
+    }
+
+    public Instant getCreated() {
+        return created;
+    }
+}
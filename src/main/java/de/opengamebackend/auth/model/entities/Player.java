@@ -1,14 +1,16 @@
 package de.opengamebackend.auth.model.entities;
 
 import javax.persistence.*;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.UUID;
 
 @Entity
 @Table(name = "auth_player")
 public class Player {
+    /**
+     * Id of the player, stored in its binary form, but exposed in its string form.
+     */
     @Id
-    private String id;
+    private UUID id;
 
     @Column(nullable = false)
     private String provider;
@@ -18,19 +20,17 @@ public class Player {
 
     private boolean locked;
 
-    @ManyToMany
-    private Collection<Role> roles;
-
-    public Player() {
-        this.roles = new ArrayList<>();
-    }
+    /**
+     * Roles of the player, as bitmask of {@link de.opengamebackend.auth.model.RoleMask}.
+     */
+    private int roleMask;
 
     public String getId() {
-        return id;
+        return id != null ? id.toString() : null;
     }
 
     public void setId(String id) {
-        this.id = id;
+        this.id = id != null ? UUID.fromString(id) : null;
     }
 
     public String getProvider() {
@@ -49,12 +49,12 @@ public class Player {
         this.provider = provider;
     }
 
-    public Collection<Role> getRoles() {
-        return roles;
+    public int getRoleMask() {
+        return roleMask;
     }
 
-    public void setRoles(Collection<Role> roles) {
-        this.roles = roles;
+    public void setRoleMask(int roleMask) {
+        this.roleMask = roleMask;
     }
 
     public boolean isLocked() {
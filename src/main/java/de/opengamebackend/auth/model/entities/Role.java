@@ -1,7 +1,8 @@
 package de.opengamebackend.auth.model.entities;
 
-import javax.persistence.*;
-import java.util.Collection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
 
 @Entity
 @Table(name = "auth_role")
@@ -9,9 +10,6 @@ public class Role {
     @Id
     private String name;
 
-    @ManyToMany(mappedBy = "roles")
-    private Collection<Player> players;
-
     public Role() {
     }
 
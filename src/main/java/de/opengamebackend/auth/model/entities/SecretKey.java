@@ -1,5 +1,6 @@
 package de.opengamebackend.auth.model.entities;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
@@ -8,20 +9,32 @@ import javax.persistence.Table;
 @Table(name = "auth_secretkey")
 public class SecretKey {
     @Id
-    private String secretKey;
+    private String keyId;
+
+    @Column(nullable = false)
+    private byte[] keyHash;
 
     public SecretKey() {
     }
 
-    public SecretKey(String secretKey) {
-        this.secretKey = secretKey;
+    public SecretKey(String keyId, byte[] keyHash) {
+        this.keyId = keyId;
+        this.keyHash = keyHash;
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public void setKeyId(String keyId) {
+        this.keyId = keyId;
     }
 
-    public String getSecretKey() {
-        return secretKey;
+    public byte[] getKeyHash() {
+        return keyHash;
     }
 
-    public void setSecretKey(String secretKey) {
-        this.secretKey = secretKey;
+    public void setKeyHash(byte[] keyHash) {
+        this.keyHash = keyHash;
     }
 }
@@ -0,0 +1,28 @@
+package de.opengamebackend.auth.model.repositories;
+
+import de.opengamebackend.auth.model.entities.Invalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InvalidationRepository extends CrudRepository<Invalidation, Long> {
+    List<Invalidation> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+    List<Invalidation> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(i.id), 0) FROM Invalidation i")
+    long findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Invalidation i WHERE i.created < :created")
+    int deleteByCreatedBefore(@Param("created") Instant created);
+}
@@ -1,18 +1,77 @@
 package de.opengamebackend.auth.model.repositories;
 
+import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.RoleMask;
 import de.opengamebackend.auth.model.entities.Player;
-import de.opengamebackend.auth.model.entities.Role;
+import de.opengamebackend.auth.model.responses.ExportPlayersResponsePlayer;
+import de.opengamebackend.auth.model.responses.GetAdminsResponseAdmin;
+import de.opengamebackend.auth.model.responses.GetPlayersResponsePlayer;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface PlayerRepository extends PagingAndSortingRepository<Player, String> {
-    int countByRoles(Role role);
-    List<Player> findByRoles(Role role);
-    List<Player> findByRoles(Role role, Pageable pageable);
+public interface PlayerRepository extends PagingAndSortingRepository<Player, UUID>, PlayerRepositoryCustom {
+    int countByRoleMaskIn(Collection<Integer> roleMasks);
+    boolean existsByRoleMaskIn(Collection<Integer> roleMasks);
+    List<Player> findByRoleMaskIn(Collection<Integer> roleMasks, Pageable pageable);
     Optional<Player> findByProviderAndProviderUserId(String provider, String providerUserId);
+
+    default int countByRole(AuthRole role) {
+        return countByRoleMaskIn(RoleMask.containing(role));
+    }
+
+    default boolean existsByRole(AuthRole role) {
+        return existsByRoleMaskIn(RoleMask.containing(role));
+    }
+
+    default List<Player> findByRole(AuthRole role, Pageable pageable) {
+        return findByRoleMaskIn(RoleMask.containing(role), pageable);
+    }
+
+    @Query("SELECT p FROM Player p WHERE p.roleMask IN :roleMasks AND p.id > :lastId ORDER BY p.id")
+    List<Player> findByRoleMaskInAfter(@Param("roleMasks") Collection<Integer> roleMasks,
+                                       @Param("lastId") UUID lastId, Pageable pageable);
+
+    default List<GetPlayersResponsePlayer> findPlayersByRoleAfter(AuthRole role, String lastId, Pageable pageable) {
+        return findByRoleMaskInAfter(RoleMask.containing(role), UUID.fromString(lastId), pageable).stream()
+                .map(p -> new GetPlayersResponsePlayer(p.getId(), p.getProvider(), p.getProviderUserId()))
+                .collect(Collectors.toList());
+    }
+
+    @Query("SELECT new de.opengamebackend.auth.model.responses.ExportPlayersResponsePlayer(p.id, p.provider, p.providerUserId, p.locked) " +
+            "FROM Player p ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<ExportPlayersResponsePlayer> streamAllPlayers();
+
+    @Query("SELECT new de.opengamebackend.auth.model.responses.GetAdminsResponseAdmin(p.provider, p.providerUserId, p.locked) " +
+            "FROM Player p WHERE p.roleMask IN :roleMasks")
+    List<GetAdminsResponseAdmin> findAdminsByRoleMaskIn(@Param("roleMasks") Collection<Integer> roleMasks);
+
+    default List<GetAdminsResponseAdmin> findAdminsByRole(AuthRole role) {
+        return findAdminsByRoleMaskIn(RoleMask.containing(role));
+    }
+
+    @Query("SELECT p.providerUserId FROM Player p WHERE p.provider = :provider AND p.providerUserId IN :providerUserIds")
+    List<String> findProviderUserIds(@Param("provider") String provider,
+                                     @Param("providerUserIds") Collection<String> providerUserIds);
+
+    @Modifying
+    @Query("UPDATE Player p SET p.locked = :locked WHERE p.provider = :provider AND p.providerUserId IN :providerUserIds")
+    int updateLocked(@Param("provider") String provider, @Param("providerUserIds") Collection<String> providerUserIds,
+                     @Param("locked") boolean locked);
 }
@@ -0,0 +1,22 @@
+package de.opengamebackend.auth.model.repositories;
+
+import de.opengamebackend.auth.model.entities.Player;
+
+public interface PlayerRepositoryCustom {
+    /**
+     * Inserts the specified new player, unless a player with the same provider and provider
+     * user id already exists.
+     *
+     * Inserts directly instead of merging, saving the extra lookup of the assigned id, and leaves resolving concurrent
+     * first logins to the auth_player_unique constraint.
+     *
+     * @param player Player to insert.
+     * @return true, if the player has been inserted, and false if the player already existed.
+     * @throws org.springframework.dao.DataIntegrityViolationException If the same player has been inserted by a
+     * concurrent transaction that has not been committed before. Callers should retry in a new transaction.
+     * @throws org.springframework.dao.ConcurrencyFailureException If the database has resolved inserting the same
+     * player concurrently with a deadlock or lock timeout instead, e.g. MariaDB taking gap locks for the lookup under
+     * REPEATABLE READ. Callers should retry in a new transaction.
+     */
+    boolean insertIfAbsent(Player player);
+}
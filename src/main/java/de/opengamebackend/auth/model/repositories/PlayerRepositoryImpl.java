@@ -0,0 +1,31 @@
+package de.opengamebackend.auth.model.repositories;
+
+import de.opengamebackend.auth.model.PlayerIds;
+import de.opengamebackend.auth.model.entities.Player;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+public class PlayerRepositoryImpl implements PlayerRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public boolean insertIfAbsent(Player player) {
+        // Native queries have to be passed the binary form of the id.
+        byte[] id = PlayerIds.toBytes(player.getId());
+
+        int inserted = entityManager.createNativeQuery(
+                "INSERT INTO auth_player (id, provider, provider_user_id, locked, role_mask) " +
+                        "SELECT ?1, ?2, ?3, ?4, ?5 FROM DUAL " +
+                        "WHERE NOT EXISTS (SELECT 1 FROM auth_player WHERE provider = ?2 AND provider_user_id = ?3)")
+                .setParameter(1, id)
+                .setParameter(2, player.getProvider())
+                .setParameter(3, player.getProviderUserId())
+                .setParameter(4, player.isLocked())
+                .setParameter(5, player.getRoleMask())
+                .executeUpdate();
+
+        return inserted > 0;
+    }
+}
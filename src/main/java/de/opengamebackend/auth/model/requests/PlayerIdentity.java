@@ -0,0 +1,30 @@
+package de.opengamebackend.auth.model.requests;
+
+public class PlayerIdentity {
+    private String provider;
+    private String providerUserId;
+
+    public PlayerIdentity() {
+    }
+
+    public PlayerIdentity(String provider, String providerUserId) {
+        this.provider = provider;
+        this.providerUserId = providerUserId;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    public String getProviderUserId() {
+        return providerUserId;
+    }
+
+    public void setProviderUserId(String providerUserId) {
+        this.providerUserId = providerUserId;
+    }
+}
@@ -0,0 +1,56 @@
+package de.opengamebackend.auth.model.responses;
+
+import java.util.UUID;
+
+public class ExportPlayersResponsePlayer {
+    private String playerId;
+    private String provider;
+    private String providerUserId;
+    private boolean locked;
+
+    public ExportPlayersResponsePlayer() {
+    }
+
+    public ExportPlayersResponsePlayer(String playerId, String provider, String providerUserId, boolean locked) {
+        this.playerId = playerId;
+        this.provider = provider;
+        this.providerUserId = providerUserId;
+        this.locked = locked;
+    }
+
+    public ExportPlayersResponsePlayer(UUID playerId, String provider, String providerUserId, boolean locked) {
+        this(playerId.toString(), provider, providerUserId, locked);
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    public String getProviderUserId() {
+        return providerUserId;
+    }
+
+    public void setProviderUserId(String providerUserId) {
+        this.providerUserId = providerUserId;
+    }
+
+    public boolean isLocked() {
+        return locked;
+    }
+
+    public void setLocked(boolean locked) {
+        this.locked = locked;
+    }
+}
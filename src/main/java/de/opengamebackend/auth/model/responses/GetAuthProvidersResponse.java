@@ -0,0 +1,22 @@
+package de.opengamebackend.auth.model.responses;
+
+import java.util.List;
+
+public class GetAuthProvidersResponse {
+    private List<GetAuthProvidersResponseProvider> providers;
+
+    public GetAuthProvidersResponse() {
+    }
+
+    public GetAuthProvidersResponse(List<GetAuthProvidersResponseProvider> providers) {
+        this.providers = providers;
+    }
+
+    public List<GetAuthProvidersResponseProvider> getProviders() {
+        return providers;
+    }
+
+    public void setProviders(List<GetAuthProvidersResponseProvider> providers) {
+        this.providers = providers;
+    }
+}
@@ -0,0 +1,83 @@
+package de.opengamebackend.auth.model.responses;
+
+public class GetAuthProvidersResponseProvider {
+    private String id;
+    private boolean enabled;
+    private long successfulLogins;
+    private long failedLogins;
+    private long rejectedLogins;
+    private long averageAuthenticationMs;
+
+    public GetAuthProvidersResponseProvider() {
+    }
+
+    public GetAuthProvidersResponseProvider(String id, boolean enabled, long successfulLogins, long failedLogins,
+                                            long rejectedLogins, long averageAuthenticationMs) {
+        this.id = id;
+        this.enabled = enabled;
+        this.successfulLogins = successfulLogins;
+        this.failedLogins = failedLogins;
+        this.rejectedLogins = rejectedLogins;
+        this.averageAuthenticationMs = averageAuthenticationMs;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Number of logins this provider has authenticated since startup.
+     */
+    public long getSuccessfulLogins() {
+        return successfulLogins;
+    }
+
+    public void setSuccessfulLogins(long successfulLogins) {
+        this.successfulLogins = successfulLogins;
+    }
+
+    /**
+     * Number of logins this provider has failed to authenticate since startup.
+     */
+    public long getFailedLogins() {
+        return failedLogins;
+    }
+
+    public void setFailedLogins(long failedLogins) {
+        this.failedLogins = failedLogins;
+    }
+
+    /**
+     * Number of logins that have been rejected since startup, because this provider was disabled.
+     */
+    public long getRejectedLogins() {
+        return rejectedLogins;
+    }
+
+    public void setRejectedLogins(long rejectedLogins) {
+        this.rejectedLogins = rejectedLogins;
+    }
+
+    /**
+     * Average time this provider took for authenticating logins, in milliseconds.
+     */
+    public long getAverageAuthenticationMs() {
+        return averageAuthenticationMs;
+    }
+
+    public void setAverageAuthenticationMs(long averageAuthenticationMs) {
+        this.averageAuthenticationMs = averageAuthenticationMs;
+    }
+}
@@ -0,0 +1,48 @@
+package de.opengamebackend.auth.model.responses;
+
+import java.util.List;
+
+public class GetPlayersCursorResponse {
+    private List<GetPlayersResponsePlayer> players;
+    private String nextCursor;
+    private Integer totalPlayers;
+
+    public GetPlayersCursorResponse() {
+    }
+
+    public GetPlayersCursorResponse(List<GetPlayersResponsePlayer> players, String nextCursor, Integer totalPlayers) {
+        this.players = players;
+        this.nextCursor = nextCursor;
+        this.totalPlayers = totalPlayers;
+    }
+
+    public List<GetPlayersResponsePlayer> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<GetPlayersResponsePlayer> players) {
+        this.players = players;
+    }
+
+    /**
+     * Opaque cursor for requesting the next page, or null if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Approximate number of players, if requested.
+     */
+    public Integer getTotalPlayers() {
+        return totalPlayers;
+    }
+
+    public void setTotalPlayers(Integer totalPlayers) {
+        this.totalPlayers = totalPlayers;
+    }
+}
@@ -0,0 +1,65 @@
+package de.opengamebackend.auth.model.responses;
+
+import de.opengamebackend.auth.model.requests.PlayerIdentity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LockPlayersResponse {
+    private boolean locked;
+    private int playersRequested;
+    private int playersChanged;
+    private List<PlayerIdentity> playersNotFound;
+
+    public LockPlayersResponse() {
+        this.playersNotFound = new ArrayList<>();
+    }
+
+    public LockPlayersResponse(boolean locked) {
+        this();
+        this.locked = locked;
+    }
+
+    /**
+     * Adds the results of another batch of players to this summary.
+     *
+     * @param other Results to add.
+     */
+    public void add(LockPlayersResponse other) {
+        playersRequested += other.playersRequested;
+        playersChanged += other.playersChanged;
+        playersNotFound.addAll(other.playersNotFound);
+    }
+
+    public boolean isLocked() {
+        return locked;
+    }
+
+    public void setLocked(boolean locked) {
+        this.locked = locked;
+    }
+
+    public int getPlayersRequested() {
+        return playersRequested;
+    }
+
+    public void setPlayersRequested(int playersRequested) {
+        this.playersRequested = playersRequested;
+    }
+
+    public int getPlayersChanged() {
+        return playersChanged;
+    }
+
+    public void setPlayersChanged(int playersChanged) {
+        this.playersChanged = playersChanged;
+    }
+
+    public List<PlayerIdentity> getPlayersNotFound() {
+        return playersNotFound;
+    }
+
+    public void setPlayersNotFound(List<PlayerIdentity> playersNotFound) {
+        this.playersNotFound = playersNotFound;
+    }
+}
@@ -0,0 +1,44 @@
+package de.opengamebackend.auth.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps token buckets in memory, limiting requests to this replica only.
+ *
+ * Keys are spread across a fixed number of {@link StripedTokenBucket} stripes per limit, so memory stays constant no
+ * matter how many keys are seen, at the cost of keys sharing a bucket now and then.
+ *
+ * Used unless another backend has been configured in {@code de.opengamebackend.auth.login.rate-limit.backend}.
+ */
+@Component
+@ConditionalOnProperty(name = "de.opengamebackend.auth.login.rate-limit.backend", havingValue = "local",
+        matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+    private final int stripes;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<RateLimit, StripedTokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LocalRateLimiter(LoginRateLimitConfig config) {
+        this(config.getStripes(), System::nanoTime);
+    }
+
+    LocalRateLimiter(int stripes, LongSupplier nanoClock) {
+        this.stripes = stripes;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, RateLimit limit) {
+        return buckets
+                .computeIfAbsent(limit, l -> new StripedTokenBucket(
+                        stripes, l.getCapacity(), l.getTokensPerSecond(), nanoClock))
+                .tryConsume(key);
+    }
+}
@@ -0,0 +1,87 @@
+package de.opengamebackend.auth.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConstructorBinding
+@ConfigurationProperties("de.opengamebackend.auth.login.rate-limit")
+public class LoginRateLimitConfig {
+    private boolean enabled;
+    private String backend;
+
+    private int addressBurst;
+    private double addressLoginsPerMinute;
+
+    private int identityBurst;
+    private double identityLoginsPerMinute;
+
+    private int stripes;
+
+    public LoginRateLimitConfig(@DefaultValue("true") boolean enabled,
+                                @DefaultValue("local") String backend,
+                                @DefaultValue("100") int addressBurst,
+                                @DefaultValue("600") double addressLoginsPerMinute,
+                                @DefaultValue("10") int identityBurst,
+                                @DefaultValue("30") double identityLoginsPerMinute,
+                                @DefaultValue("65536") int stripes) {
+        this.enabled = enabled;
+        this.backend = backend;
+        this.addressBurst = addressBurst;
+        this.addressLoginsPerMinute = addressLoginsPerMinute;
+        this.identityBurst = identityBurst;
+        this.identityLoginsPerMinute = identityLoginsPerMinute;
+        this.stripes = stripes;
+    }
+
+    /**
+     * Gets whether to limit the rate of logins at all.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the rate limiter to keep track of logins with. Only {@code local} is built in, limiting logins to each
+     * replica separately.
+     */
+    public String getBackend() {
+        return backend;
+    }
+
+    /**
+     * Gets the number of logins each address may send in a burst.
+     */
+    public int getAddressBurst() {
+        return addressBurst;
+    }
+
+    /**
+     * Gets the number of logins each address may send per minute once its burst is used up.
+     */
+    public double getAddressLoginsPerMinute() {
+        return addressLoginsPerMinute;
+    }
+
+    /**
+     * Gets the number of logins with the same provider and key that may be sent in a burst.
+     */
+    public int getIdentityBurst() {
+        return identityBurst;
+    }
+
+    /**
+     * Gets the number of logins with the same provider and key that may be sent per minute once the burst is used up.
+     */
+    public double getIdentityLoginsPerMinute() {
+        return identityLoginsPerMinute;
+    }
+
+    /**
+     * Gets the number of buckets the local rate limiter spreads addresses and credentials across, per limit.
+     * Addresses or credentials sharing a bucket are limited together.
+     */
+    public int getStripes() {
+        return stripes;
+    }
+}
@@ -0,0 +1,68 @@
+package de.opengamebackend.auth.ratelimit;
+
+import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Limits the rate of logins per client address, and per provider and key, before any auth provider or the database
+ * is involved.
+ *
+ * Credentials are hashed before being passed to the rate limiter, so neither OAuth tokens nor secret keys are kept in
+ * memory, or sent to shared rate limiter backends.
+ */
+@Component
+public class LoginRateLimiter {
+    private final Logger logger = LoggerFactory.getLogger(LoginRateLimiter.class);
+
+    private final RateLimiter rateLimiter;
+    private final boolean enabled;
+    private final RateLimit addressLimit;
+    private final RateLimit identityLimit;
+
+    @Autowired
+    public LoginRateLimiter(RateLimiter rateLimiter, LoginRateLimitConfig config) {
+        this.rateLimiter = rateLimiter;
+        this.enabled = config.isEnabled();
+        this.addressLimit = new RateLimit(config.getAddressBurst(), config.getAddressLoginsPerMinute() / 60.0);
+        this.identityLimit = new RateLimit(config.getIdentityBurst(), config.getIdentityLoginsPerMinute() / 60.0);
+    }
+
+    /**
+     * Checks whether the specified login may be attempted, using up one token of each limit.
+     *
+     * @param source Address the login has been sent from.
+     * @param provider Auth provider the login is for.
+     * @param key Provider-specific authentication key of the login.
+     * @throws RateLimitExceededException If the address, or the provider and key, have sent too many logins.
+     */
+    public void check(String source, String provider, String key) {
+        if (!enabled) {
+            return;
+        }
+
+        if (!rateLimiter.tryAcquire("address:" + source, addressLimit)) {
+            logger.warn("Login failed - too many logins from {}.", source);
+            throw new RateLimitExceededException("Too many logins from this address.");
+        }
+
+        if (!rateLimiter.tryAcquire("identity:" + identityOf(provider, key), identityLimit)) {
+            logger.warn("Login failed - too many logins with provider {} from {}.", provider, source);
+            throw new RateLimitExceededException("Too many logins with these credentials.");
+        }
+    }
+
+    private static String identityOf(String provider, String key) {
+        return Hashing.sha256().newHasher()
+                .putString(Strings.nullToEmpty(provider), StandardCharsets.UTF_8)
+                .putByte((byte)0)
+                .putString(Strings.nullToEmpty(key), StandardCharsets.UTF_8)
+                .hash()
+                .toString();
+    }
+}
@@ -0,0 +1,54 @@
+package de.opengamebackend.auth.ratelimit;
+
+import java.util.Objects;
+
+/**
+ * Maximum rate of requests, as the size of a token bucket and the speed it's refilled with.
+ */
+public class RateLimit {
+    private final double capacity;
+    private final double tokensPerSecond;
+
+    /**
+     * Creates a new rate limit.
+     *
+     * @param capacity Number of requests allowed in a burst.
+     * @param tokensPerSecond Number of requests allowed per second once the burst is used up.
+     */
+    public RateLimit(double capacity, double tokensPerSecond) {
+        if (capacity <= 0 || tokensPerSecond < 0) {
+            throw new IllegalArgumentException("Capacity must be positive, and refill rate non-negative.");
+        }
+
+        this.capacity = capacity;
+        this.tokensPerSecond = tokensPerSecond;
+    }
+
+    public double getCapacity() {
+        return capacity;
+    }
+
+    public double getTokensPerSecond() {
+        return tokensPerSecond;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof RateLimit)) {
+            return false;
+        }
+
+        RateLimit other = (RateLimit)o;
+        return Double.compare(capacity, other.capacity) == 0
+                && Double.compare(tokensPerSecond, other.tokensPerSecond) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(capacity, tokensPerSecond);
+    }
+}
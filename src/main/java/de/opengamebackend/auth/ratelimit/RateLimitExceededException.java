@@ -0,0 +1,10 @@
+package de.opengamebackend.auth.ratelimit;
+
+/**
+ * Thrown if a client has sent too many requests, and answered with status 429.
+ */
+public class RateLimitExceededException extends RuntimeException {
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package de.opengamebackend.auth.ratelimit;
+
+/**
+ * Keeps track of how many requests each key may send.
+ *
+ * {@link LocalRateLimiter} keeps its buckets in memory, limiting requests to each replica separately. To share limits
+ * across replicas, provide another implementation (e.g. backed by a shared cache) as component, and select it by
+ * setting {@code de.opengamebackend.auth.login.rate-limit.backend} to anything other than {@code local}.
+ */
+public interface RateLimiter {
+    /**
+     * Takes one token from the bucket of the specified key, if there's any left.
+     *
+     * @param key Key to take a token for.
+     * @param limit Size and refill rate of the bucket of the key.
+     * @return true, if a token has been taken, and false if the request exceeds the limit.
+     */
+    boolean tryAcquire(String key, RateLimit limit);
+}
@@ -0,0 +1,41 @@
+package de.opengamebackend.auth.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Throttles sources guessing server secret keys.
+ *
+ * Each server login reserves a token before its key is checked, and successful logins return theirs, so only failed
+ * logins use up tokens. Servers with a valid key are never throttled, while sources trying random keys are rejected
+ * before their keys are checked at all once their tokens are used up - even if they send many attempts at once.
+ */
+@Component
+public class SecretKeyThrottle {
+    private final StripedTokenBucket failedAttempts;
+
+    @Autowired
+    public SecretKeyThrottle(SecretKeyThrottleConfig config) {
+        this.failedAttempts = new StripedTokenBucket(config.getStripes(), config.getFailedAttempts(),
+                config.getFailedAttemptsPerMinute() / 60.0);
+    }
+
+    /**
+     * Reserves a token for a server login of the specified source, to be kept if the login fails.
+     *
+     * @param source Address the login has been sent from.
+     * @return true, if the source may attempt the login, and false if it has been throttled.
+     */
+    public boolean tryAcquire(String source) {
+        return failedAttempts.tryConsume(source);
+    }
+
+    /**
+     * Returns the token reserved for a server login of the specified source that didn't fail.
+     *
+     * @param source Address the login has been sent from.
+     */
+    public void release(String source) {
+        failedAttempts.refund(source);
+    }
+}
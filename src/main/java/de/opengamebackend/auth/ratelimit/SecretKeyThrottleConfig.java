@@ -0,0 +1,42 @@
+package de.opengamebackend.auth.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConstructorBinding
+@ConfigurationProperties("de.opengamebackend.auth.secret-keys.throttle")
+public class SecretKeyThrottleConfig {
+    private int failedAttempts;
+    private double failedAttemptsPerMinute;
+    private int stripes;
+
+    public SecretKeyThrottleConfig(@DefaultValue("10") int failedAttempts,
+                                   @DefaultValue("10") double failedAttemptsPerMinute,
+                                   @DefaultValue("4096") int stripes) {
+        this.failedAttempts = failedAttempts;
+        this.failedAttemptsPerMinute = failedAttemptsPerMinute;
+        this.stripes = stripes;
+    }
+
+    /**
+     * Gets the number of failed server logins each source may attempt in a burst before being throttled.
+     */
+    public int getFailedAttempts() {
+        return failedAttempts;
+    }
+
+    /**
+     * Gets the number of failed server logins each source may attempt per minute once its burst is used up.
+     */
+    public double getFailedAttemptsPerMinute() {
+        return failedAttemptsPerMinute;
+    }
+
+    /**
+     * Gets the number of buckets sources are spread across. Sources sharing a bucket are throttled together.
+     */
+    public int getStripes() {
+        return stripes;
+    }
+}
@@ -0,0 +1,109 @@
+package de.opengamebackend.auth.ratelimit;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for an unbounded number of sources, kept in a fixed number of stripes.
+ *
+ * Each source is hashed to one of the stripes, so memory stays constant no matter how many sources there are, at the
+ * cost of sources sharing a bucket now and then. Stripes are locked individually, so sources in different stripes
+ * never contend.
+ */
+public class StripedTokenBucket {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Bucket[] buckets;
+    private final int mask;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Creates new token buckets, all of them full.
+     *
+     * @param stripes Number of buckets, rounded up to the next power of two.
+     * @param capacity Maximum number of tokens per bucket.
+     * @param tokensPerSecond Number of tokens added to each bucket per second.
+     */
+    public StripedTokenBucket(int stripes, double capacity, double tokensPerSecond) {
+        this(stripes, capacity, tokensPerSecond, System::nanoTime);
+    }
+
+    StripedTokenBucket(int stripes, double capacity, double tokensPerSecond, LongSupplier nanoClock) {
+        if (stripes <= 0 || capacity <= 0 || tokensPerSecond < 0) {
+            throw new IllegalArgumentException("Stripes and capacity must be positive, and refill rate non-negative.");
+        }
+
+        int size = Integer.highestOneBit(stripes) == stripes ? stripes : Integer.highestOneBit(stripes) << 1;
+
+        this.buckets = new Bucket[size];
+        this.mask = size - 1;
+
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / NANOS_PER_SECOND;
+        this.nanoClock = nanoClock;
+
+        long now = nanoClock.getAsLong();
+
+        for (int i = 0; i < size; ++i) {
+            buckets[i] = new Bucket(capacity, now);
+        }
+    }
+
+    /**
+     * Takes one token from the bucket of the specified source, if there's any left.
+     *
+     * @param source Source to take a token for.
+     * @return true, if a token has been taken, and false if the bucket was empty.
+     */
+    public boolean tryConsume(Object source) {
+        Bucket bucket = bucketOf(source);
+
+        synchronized (bucket) {
+            refill(bucket);
+
+            if (bucket.tokens < 1.0) {
+                return false;
+            }
+
+            bucket.tokens -= 1.0;
+            return true;
+        }
+    }
+
+    /**
+     * Returns one token to the bucket of the specified source, e.g. after a reserved token turned out to be unneeded.
+     *
+     * @param source Source to return a token for.
+     */
+    public void refund(Object source) {
+        Bucket bucket = bucketOf(source);
+
+        synchronized (bucket) {
+            refill(bucket);
+            bucket.tokens = Math.min(capacity, bucket.tokens + 1.0);
+        }
+    }
+
+    private Bucket bucketOf(Object source) {
+        int h = source != null ? source.hashCode() : 0;
+        return buckets[(h ^ (h >>> 16)) & mask];
+    }
+
+    private void refill(Bucket bucket) {
+        long now = nanoClock.getAsLong();
+        bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.lastRefill) * tokensPerNano);
+        bucket.lastRefill = now;
+    }
+
+    private static class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(double tokens, long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+    }
+}
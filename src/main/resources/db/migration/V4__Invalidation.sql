@@ -0,0 +1,12 @@
+CREATE TABLE auth_invalidation (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    origin VARCHAR(36) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    provider VARCHAR(100),
+    provider_user_id VARCHAR(100),
+    created TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX ix_auth_invalidation_created ON auth_invalidation (created);
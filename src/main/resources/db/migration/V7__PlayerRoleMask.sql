@@ -0,0 +1,12 @@
+ALTER TABLE auth_player ADD COLUMN role_mask INT NOT NULL DEFAULT 0;
+
+UPDATE auth_player SET role_mask = role_mask + 1
+    WHERE id IN (SELECT players_id FROM auth_player_roles WHERE roles_name = 'ROLE_ADMIN');
+UPDATE auth_player SET role_mask = role_mask + 2
+    WHERE id IN (SELECT players_id FROM auth_player_roles WHERE roles_name = 'ROLE_SERVER');
+UPDATE auth_player SET role_mask = role_mask + 4
+    WHERE id IN (SELECT players_id FROM auth_player_roles WHERE roles_name = 'ROLE_USER');
+
+CREATE INDEX ix_auth_player_role_mask_id ON auth_player (role_mask, id);
+
+DROP TABLE auth_player_roles;
@@ -0,0 +1,55 @@
+package de.opengamebackend.auth.benchmarks;
+
+import de.opengamebackend.auth.concurrent.VirtualThreadsConfig;
+import de.opengamebackend.auth.controller.providers.GithubAuthProvider;
+import de.opengamebackend.auth.controller.providers.GithubAuthProviderConfig;
+import de.opengamebackend.auth.controller.providers.GithubStubServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares GitHub logins over pooled keep-alive connections with opening new connections for every login, against a
+ * local stub server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GithubLoginBenchmark {
+    private GithubStubServer server;
+    private GithubAuthProviderConfig config;
+    private GithubAuthProvider pooledProvider;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new GithubStubServer();
+        config = server.createConfig(1000);
+        pooledProvider = new GithubAuthProvider(config, new VirtualThreadsConfig(false));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pooledProvider.close();
+        server.close();
+    }
+
+    @Benchmark
+    public String pooled() {
+        return pooledProvider.authenticate("testCode", "testState");
+    }
+
+    @Benchmark
+    public String unpooled() throws IOException {
+        GithubAuthProvider provider = new GithubAuthProvider(config, new VirtualThreadsConfig(false));
+
+        try {
+            return provider.authenticate("testCode", "testState");
+        } finally {
+            provider.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package de.opengamebackend.auth.benchmarks;
+
+import de.opengamebackend.auth.AuthApplication;
+import de.opengamebackend.auth.controller.AuthService;
+import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.requests.LoginRequest;
+import de.opengamebackend.auth.model.responses.LoginResponse;
+import de.opengamebackend.net.ApiException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logs in new and returning players with {@link AuthService}, after authentication, against a database of seeded
+ * players.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+    @Param({"10000", "1000000"})
+    private int playerCount;
+
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+
+    private LoginRequest request;
+    private AtomicInteger newPlayers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("eureka.client.enabled=false")
+                .run();
+
+        PlayerSeed.seed(context, playerCount);
+
+        authService = context.getBean(AuthService.class);
+
+        request = new LoginRequest();
+        request.setProvider(PlayerSeed.PROVIDER);
+        request.setRole(AuthRole.ROLE_USER.name());
+
+        newPlayers = new AtomicInteger(playerCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LoginResponse newPlayer() throws ApiException {
+        return authService.login(request, PlayerSeed.providerUserId(newPlayers.getAndIncrement()));
+    }
+
+    @Benchmark
+    public LoginResponse returningPlayer() throws ApiException {
+        int index = ThreadLocalRandom.current().nextInt(playerCount);
+        return authService.login(request, PlayerSeed.providerUserId(index));
+    }
+}
@@ -0,0 +1,84 @@
+package de.opengamebackend.auth.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.requests.LoginRequest;
+import de.opengamebackend.auth.model.responses.LoginResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads login requests from and writes login responses to each format supported by /login, as done for every call.
+ *
+ * The encoded sizes of request and response are printed once per fork, as JMH doesn't report them itself. Run with
+ * {@code -prof gc} to compare allocations per call as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginFormatBenchmark {
+    @Param({ "json", "smile", "cbor" })
+    private String format;
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+
+    private byte[] requestBytes;
+    private LoginResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper(createFactory(format));
+        requestReader = objectMapper.readerFor(LoginRequest.class);
+        responseWriter = objectMapper.writerFor(LoginResponse.class);
+
+        LoginRequest request = new LoginRequest();
+        request.setProvider(PlayerSeed.PROVIDER);
+        request.setKey(UUID.randomUUID().toString());
+        request.setRole(AuthRole.ROLE_USER.name());
+        requestBytes = objectMapper.writeValueAsBytes(request);
+
+        response = new LoginResponse(UUID.randomUUID().toString(),
+                Collections.singletonList(AuthRole.ROLE_USER.name()));
+        response.setProvider(PlayerSeed.PROVIDER);
+        response.setProviderUserId(UUID.randomUUID().toString());
+
+        System.out.printf("%n%s: request %d bytes, response %d bytes%n",
+                format, requestBytes.length, responseWriter.writeValueAsBytes(response).length);
+    }
+
+    @Benchmark
+    public LoginRequest readRequest() throws IOException {
+        return requestReader.readValue(requestBytes);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    private static JsonFactory createFactory(String format) {
+        switch (format) {
+            case "smile":
+                return new SmileFactory();
+
+            case "cbor":
+                return new CBORFactory();
+
+            default:
+                return new JsonFactory();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package de.opengamebackend.auth.benchmarks;
+
+import de.opengamebackend.auth.AuthApplication;
+import de.opengamebackend.auth.controller.providers.AuthProvider;
+import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.requests.LoginRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.*;
+
+/**
+ * Logs in players with a slow auth provider and the anonymous auth provider at the same time, with only a few
+ * servlet threads available, to show that slow providers don't starve other logins when authenticating
+ * asynchronously.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class LoginLoadBenchmark {
+    private static final long PROVIDER_DELAY_MS = 200;
+
+    @Param({"true", "false"})
+    private boolean asyncProvider;
+
+    private ConfigurableApplicationContext context;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+    private String loginUri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthApplication.class)
+                .properties("eureka.client.enabled=false", "server.port=0", "server.tomcat.threads.max=8",
+                        "de.opengamebackend.auth.login.rate-limit.enabled=false",
+                        "de.opengamebackend.auth.login.coalescing.enabled=false")
+                .initializers(ctx -> ((GenericApplicationContext)ctx).registerBean(SlowAuthProvider.class,
+                        () -> new SlowAuthProvider(asyncProvider)))
+                .run();
+
+        int port = ((ServletWebServerApplicationContext)context).getWebServer().getPort();
+        loginUri = "http://localhost:" + port + "/login";
+
+        httpClient = HttpClients.custom().setMaxConnTotal(256).setMaxConnPerRoute(256).build();
+        restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        httpClient.close();
+        context.getBean(SlowAuthProvider.class).close();
+        context.close();
+    }
+
+    @Benchmark
+    @Group("login")
+    @GroupThreads(32)
+    public String slowLogin() {
+        return login(SlowAuthProvider.ID, "slowPlayer");
+    }
+
+    @Benchmark
+    @Group("login")
+    @GroupThreads(4)
+    public String fastLogin() {
+        return login("", "fastPlayer");
+    }
+
+    private String login(String provider, String key) {
+        LoginRequest request = new LoginRequest();
+        request.setProvider(provider);
+        request.setKey(key);
+        request.setRole(AuthRole.ROLE_USER.name());
+
+        return restTemplate.postForObject(loginUri, request, String.class);
+    }
+
+    /**
+     * Stands in for auth providers calling slow remote services, either blocking the calling thread or not.
+     */
+    private static class SlowAuthProvider implements AuthProvider {
+        private static final String ID = "slow";
+
+        private final boolean async;
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        SlowAuthProvider(boolean async) {
+            this.async = async;
+        }
+
+        @Override
+        public String getId() {
+            return ID;
+        }
+
+        @Override
+        public String authenticate(String key, String context) {
+            try {
+                Thread.sleep(PROVIDER_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return key;
+        }
+
+        @Override
+        public CompletableFuture<String> authenticateAsync(String key, String context) {
+            if (!async) {
+                return AuthProvider.super.authenticateAsync(key, context);
+            }
+
+            CompletableFuture<String> future = new CompletableFuture<>();
+            scheduler.schedule(() -> future.complete(key), PROVIDER_DELAY_MS, TimeUnit.MILLISECONDS);
+            return future;
+        }
+
+        void close() {
+            scheduler.shutdownNow();
+        }
+    }
+}
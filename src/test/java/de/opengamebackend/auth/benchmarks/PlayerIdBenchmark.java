@@ -0,0 +1,30 @@
+package de.opengamebackend.auth.benchmarks;
+
+import de.opengamebackend.auth.model.PlayerIds;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generating random player ids, which share a single {@link java.security.SecureRandom}, with generating
+ * time-ordered player ids, on as many threads as logins run on under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class PlayerIdBenchmark {
+    @Benchmark
+    public String random() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return PlayerIds.generate();
+    }
+}
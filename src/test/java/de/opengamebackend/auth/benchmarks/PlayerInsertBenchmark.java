@@ -0,0 +1,110 @@
+package de.opengamebackend.auth.benchmarks;
+
+import de.opengamebackend.auth.AuthApplication;
+import de.opengamebackend.auth.model.PlayerIds;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares inserting new players with random string ids, as before, with random and time-ordered binary ids.
+ *
+ * Inserts into a copy of the player table holding the specified number of players already, as the cost of random ids
+ * grows with the size of the primary key index. Runs against the embedded H2 database by default, but should be run
+ * against the actual database as well, e.g. with {@code -Djmh.args="-jvmArgsAppend -Dspring.datasource.url=..."}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class PlayerInsertBenchmark {
+    private static final String TABLE = "benchmark_player";
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({ "varcharRandom", "binaryRandom", "binaryTimeOrdered" })
+    private String ids;
+
+    @Param({ "100000", "1000000" })
+    private int playerCount;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong providerUserIds = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("eureka.client.enabled=false")
+                .run();
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (" +
+                "id " + ("varcharRandom".equals(ids) ? "VARCHAR(100)" : "BINARY(16)") + " NOT NULL, " +
+                "provider VARCHAR(100) NOT NULL, " +
+                "provider_user_id VARCHAR(100) NOT NULL, " +
+                "locked BIT(1) NOT NULL, " +
+                "PRIMARY KEY (id), " +
+                "CONSTRAINT " + TABLE + "_unique UNIQUE (provider, provider_user_id))");
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (int i = 0; i < playerCount; ++i) {
+            batch.add(newPlayer());
+
+            if (batch.size() == BATCH_SIZE) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+
+        insert(batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE " + TABLE);
+        context.close();
+    }
+
+    @Benchmark
+    public int insertPlayer() {
+        Object[] player = newPlayer();
+        return jdbcTemplate.update("INSERT INTO " + TABLE + " (id, provider, provider_user_id, locked) " +
+                "VALUES (?, ?, ?, ?)", player);
+    }
+
+    private Object[] newPlayer() {
+        return new Object[] { newId(), PlayerSeed.PROVIDER, "user" + providerUserIds.incrementAndGet(), false };
+    }
+
+    private Object newId() {
+        switch (ids) {
+            case "binaryRandom":
+                return PlayerIds.toBytes(UUID.randomUUID().toString());
+
+            case "binaryTimeOrdered":
+                return PlayerIds.toBytes(PlayerIds.generate());
+
+            default:
+                return UUID.randomUUID().toString();
+        }
+    }
+
+    private void insert(List<Object[]> players) {
+        jdbcTemplate.batchUpdate("INSERT INTO " + TABLE + " (id, provider, provider_user_id, locked) " +
+                "VALUES (?, ?, ?, ?)", players);
+    }
+}
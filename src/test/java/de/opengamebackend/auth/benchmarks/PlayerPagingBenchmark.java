@@ -0,0 +1,79 @@
+package de.opengamebackend.auth.benchmarks;
+
+import de.opengamebackend.auth.AuthApplication;
+import de.opengamebackend.auth.controller.AuthService;
+import de.opengamebackend.auth.model.responses.GetPlayersCursorResponse;
+import de.opengamebackend.auth.model.responses.GetPlayersResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares getting the first and a middle page of players with offset paging and with cursor paging.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerPagingBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10000", "1000000"})
+    private int playerCount;
+
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+
+    private int middlePage;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("eureka.client.enabled=false")
+                .run();
+
+        PlayerSeed.seed(context, playerCount);
+
+        authService = context.getBean(AuthService.class);
+
+        middlePage = playerCount / PAGE_SIZE / 2;
+
+        String lastId = PlayerSeed.playerId(middlePage * PAGE_SIZE - 1);
+        middleCursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public GetPlayersResponse offsetFirstPage() {
+        return authService.getPlayers(0);
+    }
+
+    @Benchmark
+    public GetPlayersResponse offsetMiddlePage() {
+        return authService.getPlayers(middlePage);
+    }
+
+    @Benchmark
+    public GetPlayersCursorResponse cursorFirstPage() {
+        return authService.getPlayersAfter("", false);
+    }
+
+    @Benchmark
+    public GetPlayersCursorResponse cursorMiddlePage() {
+        return authService.getPlayersAfter(middleCursor, false);
+    }
+}
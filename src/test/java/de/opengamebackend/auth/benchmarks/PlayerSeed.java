@@ -0,0 +1,54 @@
+package de.opengamebackend.auth.benchmarks;
+
+import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.RoleMask;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+/**
+ * Fills the embedded H2 database of benchmarks with anonymous players, generated by the database itself instead of
+ * saving them one by one, so even millions of players are seeded within seconds.
+ */
+class PlayerSeed {
+    static final String PROVIDER = "";
+
+    private static final int ID_DIGITS = 9;
+
+    private PlayerSeed() {
+    }
+
+    /**
+     * Inserts the specified number of players with the user role.
+     *
+     * @param context Application context to get the database from.
+     * @param playerCount Number of players to insert.
+     */
+    static void seed(ConfigurableApplicationContext context, int playerCount) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        jdbcTemplate.update("INSERT INTO auth_player (id, provider, provider_user_id, locked, role_mask) " +
+                "SELECT X'0000000000000000' || CAST(X AS BINARY(8)), ?, " +
+                "CONCAT('user', LPAD(X, " + ID_DIGITS + ", '0')), FALSE, ? " +
+                "FROM SYSTEM_RANGE(0, " + (playerCount - 1) + ")", PROVIDER, RoleMask.of(AuthRole.ROLE_USER));
+    }
+
+    /**
+     * Gets the id of the seeded player with the specified index.
+     */
+    static String playerId(int index) {
+        return new UUID(0, index).toString();
+    }
+
+    /**
+     * Gets the provider user id of the seeded player with the specified index.
+     */
+    static String providerUserId(int index) {
+        return "user" + pad(index);
+    }
+
+    private static String pad(int index) {
+        return String.format("%0" + ID_DIGITS + "d", index);
+    }
+}
@@ -0,0 +1,83 @@
+package de.opengamebackend.auth.benchmarks;
+
+import de.opengamebackend.auth.AuthApplication;
+import de.opengamebackend.auth.model.SecretKeyIndex;
+import de.opengamebackend.auth.model.SecretKeys;
+import de.opengamebackend.auth.model.entities.SecretKey;
+import de.opengamebackend.auth.model.repositories.SecretKeyRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares authenticating servers against the in-memory secret key index with looking up keys in the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecretKeyLookupBenchmark {
+    @Param({"10", "1000"})
+    private int keyCount;
+
+    private ConfigurableApplicationContext context;
+    private SecretKeyRepository secretKeyRepository;
+    private SecretKeyIndex secretKeyIndex;
+
+    private String validKey;
+    private String invalidKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("eureka.client.enabled=false")
+                .run();
+
+        secretKeyRepository = context.getBean(SecretKeyRepository.class);
+        secretKeyIndex = context.getBean(SecretKeyIndex.class);
+
+        for (int i = 0; i < keyCount; ++i) {
+            validKey = SecretKeys.generate();
+            secretKeyRepository.save(new SecretKey(SecretKeys.keyId(validKey), SecretKeys.hash(validKey)));
+        }
+
+        secretKeyIndex.reload();
+
+        invalidKey = SecretKeys.generate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean repositoryHit() {
+        return secretKeyRepository.findById(SecretKeys.keyId(validKey))
+                .map(k -> SecretKeys.matches(k.getKeyHash(), validKey))
+                .orElse(false);
+    }
+
+    @Benchmark
+    public boolean repositoryMiss() {
+        return secretKeyRepository.findById(SecretKeys.keyId(invalidKey))
+                .map(k -> SecretKeys.matches(k.getKeyHash(), invalidKey))
+                .orElse(false);
+    }
+
+    @Benchmark
+    public boolean indexHit() {
+        return secretKeyIndex.contains(validKey);
+    }
+
+    @Benchmark
+    public boolean indexMiss() {
+        return secretKeyIndex.contains(invalidKey);
+    }
+}
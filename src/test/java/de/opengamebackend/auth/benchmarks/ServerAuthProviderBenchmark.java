@@ -0,0 +1,68 @@
+package de.opengamebackend.auth.benchmarks;
+
+import de.opengamebackend.auth.AuthApplication;
+import de.opengamebackend.auth.controller.providers.ServerAuthProvider;
+import de.opengamebackend.auth.model.SecretKeyIndex;
+import de.opengamebackend.auth.model.SecretKeys;
+import de.opengamebackend.auth.model.entities.SecretKey;
+import de.opengamebackend.auth.model.repositories.SecretKeyRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticates servers with valid and invalid secret keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServerAuthProviderBenchmark {
+    private static final int KEY_COUNT = 10;
+
+    private ConfigurableApplicationContext context;
+    private ServerAuthProvider serverAuthProvider;
+
+    private String validKey;
+    private String invalidKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("eureka.client.enabled=false")
+                .run();
+
+        SecretKeyRepository secretKeyRepository = context.getBean(SecretKeyRepository.class);
+
+        for (int i = 0; i < KEY_COUNT; ++i) {
+            validKey = SecretKeys.generate();
+            secretKeyRepository.save(new SecretKey(SecretKeys.keyId(validKey), SecretKeys.hash(validKey)));
+        }
+
+        context.getBean(SecretKeyIndex.class).reload();
+
+        serverAuthProvider = context.getBean(ServerAuthProvider.class);
+        invalidKey = SecretKeys.generate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String validKey() {
+        return serverAuthProvider.authenticate(validKey, null);
+    }
+
+    @Benchmark
+    public String invalidKey() {
+        return serverAuthProvider.authenticate(invalidKey, null);
+    }
+}
@@ -0,0 +1,118 @@
+package de.opengamebackend.auth.benchmarks;
+
+import de.opengamebackend.auth.AuthApplication;
+import de.opengamebackend.auth.controller.providers.AuthProvider;
+import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.requests.LoginRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares logins with an auth provider blocking the request thread when handling requests on platform threads and
+ * on virtual threads, reporting latency percentiles and the maximum number of logins in flight at the same time.
+ *
+ * Requires Java 21 or later for running with virtual threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+@Threads(512)
+public class VirtualThreadLoginBenchmark {
+    private static final long PROVIDER_DELAY_MS = 50;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private BlockingAuthProvider provider;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+    private String loginUri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthApplication.class)
+                .properties("eureka.client.enabled=false", "server.port=0",
+                        "de.opengamebackend.auth.virtual-threads.enabled=" + virtualThreads,
+                        "spring.datasource.hikari.maximum-pool-size=32",
+                        "de.opengamebackend.auth.login.rate-limit.enabled=false",
+                        "de.opengamebackend.auth.login.coalescing.enabled=false")
+                .initializers(ctx -> ((GenericApplicationContext)ctx).registerBean(BlockingAuthProvider.class))
+                .run();
+
+        int port = ((ServletWebServerApplicationContext)context).getWebServer().getPort();
+        loginUri = "http://localhost:" + port + "/login";
+
+        provider = context.getBean(BlockingAuthProvider.class);
+
+        httpClient = HttpClients.custom().setMaxConnTotal(1024).setMaxConnPerRoute(1024).build();
+        restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.println();
+        System.out.println("Max logins in flight: " + provider.getMaxInFlight());
+
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public String login() {
+        LoginRequest request = new LoginRequest();
+        request.setProvider(BlockingAuthProvider.ID);
+        request.setKey("testPlayer");
+        request.setRole(AuthRole.ROLE_USER.name());
+
+        return restTemplate.postForObject(loginUri, request, String.class);
+    }
+
+    /**
+     * Stands in for auth providers blocking the calling thread while waiting for remote services.
+     */
+    static class BlockingAuthProvider implements AuthProvider {
+        private static final String ID = "blocking";
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public String getId() {
+            return ID;
+        }
+
+        @Override
+        public String authenticate(String key, String context) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+            try {
+                Thread.sleep(PROVIDER_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+
+            return key;
+        }
+
+        int getMaxInFlight() {
+            return maxInFlight.get();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package de.opengamebackend.auth.concurrent;
+
+import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.requests.LoginRequest;
+import de.opengamebackend.auth.model.responses.LoginResponse;
+import de.opengamebackend.net.ApiErrors;
+import de.opengamebackend.net.ApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LoginCoalescerTests {
+    private static final int THREADS = 16;
+
+    private MeterRegistry meterRegistry;
+    private LoginCoalescer loginCoalescer;
+    private AtomicInteger providerCalls;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginCoalescer = new LoginCoalescer(new LoginCoalescingConfig(true, 100), meterRegistry);
+        providerCalls = new AtomicInteger();
+    }
+
+    @Test
+    public void givenBurstOfIdenticalLogins_whenCoalesce_thenCallProviderOnce() throws Exception {
+        // GIVEN
+        CountDownLatch providerCalled = new CountDownLatch(1);
+        CountDownLatch allArrived = new CountDownLatch(THREADS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<LoginResponse>> responses = new ArrayList<>();
+
+        // WHEN
+        for (int i = 0; i < THREADS; ++i) {
+            responses.add(executor.submit(() -> {
+                CompletableFuture<LoginResponse> response = loginCoalescer.coalesce(createRequest("testKey"),
+                        () -> CompletableFuture.supplyAsync(() -> {
+                            providerCalls.incrementAndGet();
+                            providerCalled.countDown();
+
+                            // Hold the login until the whole burst has arrived.
+                            awaitQuietly(allArrived);
+                            return new LoginResponse("testPlayerId", Lists.list(AuthRole.ROLE_USER.name()));
+                        }));
+
+                allArrived.countDown();
+                return response.get(5, TimeUnit.SECONDS);
+            }));
+        }
+
+        // THEN
+        for (Future<LoginResponse> response : responses) {
+            assertThat(response.get(10, TimeUnit.SECONDS).getPlayerId()).isEqualTo("testPlayerId");
+        }
+
+        assertThat(providerCalls.get()).isEqualTo(1);
+        assertThat(meterRegistry.get(LoginCoalescer.COALESCED_COUNTER).tag("result", "pending")
+                .functionCounter().count()).isEqualTo(THREADS - 1);
+
+        executor.shutdown();
+    }
+
+    @Test
+    public void givenDifferentKeys_whenCoalesce_thenCallProviderForEach() throws Exception {
+        // WHEN
+        loginCoalescer.coalesce(createRequest("testKey1"), this::login).join();
+        loginCoalescer.coalesce(createRequest("testKey2"), this::login).join();
+
+        // THEN
+        assertThat(providerCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenPendingLoginWithOtherContext_whenCoalesce_thenCallProviderForEach() throws Exception {
+        // GIVEN
+        LoginRequest request = createRequest("testKey");
+        request.setContext("testContext1");
+
+        CompletableFuture<LoginResponse> pending = new CompletableFuture<>();
+        loginCoalescer.coalesce(request, () -> {
+            providerCalls.incrementAndGet();
+            return pending;
+        });
+
+        LoginRequest otherRequest = createRequest("testKey");
+        otherRequest.setContext("testContext2");
+
+        // WHEN
+        loginCoalescer.coalesce(otherRequest, this::login);
+
+        // THEN
+        assertThat(providerCalls.get()).isEqualTo(2);
+        pending.complete(null);
+    }
+
+    @Test
+    public void givenRetryOfCompletedLogin_whenCoalesce_thenCallProviderAgain() throws Exception {
+        // GIVEN
+        loginCoalescer.coalesce(createRequest("testKey"), this::login).join();
+
+        // WHEN
+        loginCoalescer.coalesce(createRequest("testKey"), this::login).join();
+
+        // THEN
+        assertThat(providerCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenPlayerLockedAfterLogin_whenCoalesceRetry_thenReturnLockedPlayer() throws Exception {
+        // GIVEN
+        AtomicBoolean locked = new AtomicBoolean();
+        SingleFlight.Call<LoginResponse, ApiException> login = () -> {
+            LoginResponse response = new LoginResponse("testPlayerId", Lists.list(AuthRole.ROLE_USER.name()));
+            response.setLocked(locked.get());
+            return CompletableFuture.completedFuture(response);
+        };
+
+        loginCoalescer.coalesce(createRequest("testKey"), login).join();
+        locked.set(true);
+
+        // WHEN
+        LoginResponse response = loginCoalescer.coalesce(createRequest("testKey"), login).join();
+
+        // THEN
+        assertThat(response.isLocked()).isTrue();
+    }
+
+    @Test
+    public void givenCredentialsRevokedAfterLogin_whenCoalesceRetry_thenFail() throws Exception {
+        // GIVEN
+        AtomicBoolean revoked = new AtomicBoolean();
+        SingleFlight.Call<LoginResponse, ApiException> login = () -> {
+            if (revoked.get()) {
+                CompletableFuture<LoginResponse> failure = new CompletableFuture<>();
+                failure.completeExceptionally(new ApiException(ApiErrors.INVALID_CREDENTIALS_CODE,
+                        ApiErrors.INVALID_CREDENTIALS_MESSAGE));
+                return failure;
+            }
+
+            return login();
+        };
+
+        loginCoalescer.coalesce(createRequest("testKey"), login).join();
+        revoked.set(true);
+
+        // WHEN
+        CompletableFuture<LoginResponse> response = loginCoalescer.coalesce(createRequest("testKey"), login);
+
+        // THEN
+        assertThat(response).isCompletedExceptionally();
+    }
+
+    @Test
+    public void givenDisabled_whenCoalesce_thenCallProviderEveryTime() throws Exception {
+        // GIVEN
+        loginCoalescer = new LoginCoalescer(new LoginCoalescingConfig(false, 100), meterRegistry);
+        loginCoalescer.coalesce(createRequest("testKey"), this::login).join();
+
+        // WHEN
+        loginCoalescer.coalesce(createRequest("testKey"), this::login).join();
+
+        // THEN
+        assertThat(providerCalls.get()).isEqualTo(2);
+    }
+
+    private LoginRequest createRequest(String key) {
+        LoginRequest request = new LoginRequest();
+        request.setProvider("testProvider");
+        request.setKey(key);
+        request.setRole(AuthRole.ROLE_USER.name());
+        return request;
+    }
+
+    private CompletableFuture<LoginResponse> login() {
+        providerCalls.incrementAndGet();
+        return CompletableFuture.completedFuture(
+                new LoginResponse("testPlayerId", Lists.list(AuthRole.ROLE_USER.name())));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
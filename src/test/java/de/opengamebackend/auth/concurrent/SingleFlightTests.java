@@ -0,0 +1,156 @@
+package de.opengamebackend.auth.concurrent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class SingleFlightTests {
+    private static final int THREADS = 16;
+
+    private AtomicInteger calls;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    public void setUp() {
+        calls = new AtomicInteger();
+        singleFlight = new SingleFlight<>(100);
+    }
+
+    @Test
+    public void givenConcurrentBurst_whenExecute_thenCallOnce() throws Exception {
+        // GIVEN
+        CompletableFuture<String> result = new CompletableFuture<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<String>>> futures = new ArrayList<>();
+
+        // WHEN
+        for (int i = 0; i < THREADS; ++i) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return singleFlight.execute("key", () -> {
+                    calls.incrementAndGet();
+                    return result;
+                });
+            }));
+        }
+
+        start.countDown();
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+
+        for (Future<CompletableFuture<String>> future : futures) {
+            results.add(future.get(5, TimeUnit.SECONDS));
+        }
+
+        result.complete("value");
+
+        // THEN
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(singleFlight.getJoinedPending()).isEqualTo(THREADS - 1);
+
+        for (CompletableFuture<String> future : results) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+
+        executor.shutdown();
+    }
+
+    @Test
+    public void givenCompletedCall_whenExecute_thenCallAgain() {
+        // GIVEN
+        singleFlight.execute("key", this::call);
+
+        // WHEN
+        CompletableFuture<String> result = singleFlight.execute("key", this::call);
+
+        // THEN
+        assertThat(result.join()).isEqualTo("value2");
+        assertThat(singleFlight.getJoinedPending()).isEqualTo(0);
+    }
+
+    @Test
+    public void givenFailedCall_whenExecute_thenCallAgain() {
+        // GIVEN
+        CompletableFuture<String> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new IllegalStateException());
+        singleFlight.execute("key", () -> failure);
+
+        // WHEN
+        CompletableFuture<String> result = singleFlight.execute("key", this::call);
+
+        // THEN
+        assertThat(result.join()).isEqualTo("value1");
+    }
+
+    @Test
+    public void givenPendingCall_whenCallFails_thenFailAllCallers() {
+        // GIVEN
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("key", () -> pending);
+        CompletableFuture<String> second = singleFlight.execute("key", this::call);
+
+        // WHEN
+        pending.completeExceptionally(new IllegalStateException());
+
+        // THEN
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+        assertThat(calls.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void givenCallThrowing_whenExecute_thenThrowAndCallAgainNextTime() throws IOException {
+        // GIVEN
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IOException();
+        }));
+
+        // WHEN
+        CompletableFuture<String> result = singleFlight.execute("key", this::call);
+
+        // THEN
+        assertThat(result.join()).isEqualTo("value1");
+    }
+
+    @Test
+    public void givenTooManyPendingCalls_whenExecute_thenCallOnItsOwn() {
+        // GIVEN
+        singleFlight = new SingleFlight<>(1);
+        singleFlight.execute("otherKey", CompletableFuture::new);
+        singleFlight.execute("key", CompletableFuture::new);
+
+        // WHEN
+        singleFlight.execute("key", this::call);
+
+        // THEN
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenSharedResult_whenCallerCompletesFuture_thenDontAffectOtherCallers() {
+        // GIVEN
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("key", () -> pending);
+        CompletableFuture<String> second = singleFlight.execute("key", this::call);
+
+        // WHEN
+        first.complete("tampered");
+        pending.complete("value");
+
+        // THEN
+        assertThat(second.join()).isEqualTo("value");
+    }
+
+    private CompletableFuture<String> call() {
+        return CompletableFuture.completedFuture("value" + calls.incrementAndGet());
+    }
+}
@@ -0,0 +1,41 @@
+package de.opengamebackend.auth.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class VirtualThreadsTests {
+    @Test
+    public void givenVirtualThreadsSupported_whenNewThreadPerTaskExecutor_thenRunOnVirtualThread() throws Exception {
+        // GIVEN
+        assumeTrue(VirtualThreads.isSupported());
+
+        // WHEN
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+        Future<Thread> thread = executor.submit(Thread::currentThread);
+
+        // THEN
+        Thread virtualThread = thread.get(5, TimeUnit.SECONDS);
+        assertThat(Thread.class.getMethod("isVirtual").invoke(virtualThread)).isEqualTo(true);
+        assertThat(virtualThread.getName()).startsWith("test-");
+
+        executor.shutdown();
+    }
+
+    @Test
+    public void givenVirtualThreadsNotSupported_whenNewThreadPerTaskExecutor_thenThrowException() {
+        // GIVEN
+        assumeFalse(VirtualThreads.isSupported());
+
+        // WHEN & THEN
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> VirtualThreads.newThreadPerTaskExecutor("test-"));
+    }
+}
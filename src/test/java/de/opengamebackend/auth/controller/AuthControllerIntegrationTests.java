@@ -1,6 +1,13 @@
 package de.opengamebackend.auth.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import de.opengamebackend.auth.controller.providers.ServerAuthProvider;
+import de.opengamebackend.auth.controller.tokens.SessionTokenIssuer;
 import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.SecretKeys;
 import de.opengamebackend.auth.model.entities.Player;
 import de.opengamebackend.auth.model.entities.SecretKey;
 import de.opengamebackend.auth.model.requests.LockPlayerRequest;
@@ -14,10 +21,27 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEnti
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import javax.transaction.Transactional;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -41,6 +65,47 @@ public class AuthControllerIntegrationTests {
         httpRequestUtils.assertGetOk(mvc, "/admin/players", GetPlayersResponse.class);
     }
 
+    @Test
+    public void whenGetPlayersAfter_thenOk() throws Exception {
+        httpRequestUtils.assertGetOk(mvc, "/admin/players?cursor=&includeTotal=true", GetPlayersCursorResponse.class);
+    }
+
+    @Test
+    public void givenPlayer_whenExportPlayers_thenReturnPlayer() throws Exception {
+        Player player = new Player();
+        player.setId(UUID.randomUUID().toString());
+        player.setProvider("testProvider");
+        player.setProviderUserId("testProviderUserId");
+        entityManager.persistAndFlush(player);
+
+        mvc.perform(get("/admin/players/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string(containsString("\"playerId\":\"" + player.getId() + "\"")));
+    }
+
+    @Test
+    public void givenPlayer_whenExportPlayersWithGzip_thenReturnCompressedPlayer() throws Exception {
+        Player player = new Player();
+        player.setId(UUID.randomUUID().toString());
+        player.setProvider("testProvider");
+        player.setProviderUserId("testProviderUserId");
+        entityManager.persistAndFlush(player);
+
+        MvcResult result = mvc.perform(get("/admin/players/export?gzip=true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            String export = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+
+            assertThat(export).endsWith("\n");
+            assertThat(export).contains("\"playerId\":\"" + player.getId() + "\"");
+        }
+    }
+
     @Test
     public void whenGetAdmins_thenOk() throws Exception {
         httpRequestUtils.assertGetOk(mvc, "/admin/admins", GetAdminsResponse.class);
@@ -53,7 +118,96 @@ public class AuthControllerIntegrationTests {
         request.setProvider("");
         request.setRole(AuthRole.ROLE_USER.name());
 
-        httpRequestUtils.assertPostOk(mvc, "/login", request, LoginResponse.class);
+        MvcResult result = mvc.perform(post("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.playerId").isNotEmpty());
+    }
+
+    @Test
+    public void givenPlayer_whenLoginWithSmile_thenReturnSmile() throws Exception {
+        assertBinaryLoginOk(new ObjectMapper(new SmileFactory()), "application/x-jackson-smile");
+    }
+
+    @Test
+    public void givenPlayer_whenLoginWithCbor_thenReturnCbor() throws Exception {
+        assertBinaryLoginOk(new ObjectMapper(new CBORFactory()), "application/cbor");
+    }
+
+    @Test
+    public void givenUnknownProvider_whenLogin_thenBadRequest() throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setKey("testPlayerId");
+        request.setProvider("unknownProvider");
+        request.setRole(AuthRole.ROLE_USER.name());
+
+        mvc.perform(post("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void givenTooManyLogins_whenLogin_thenTooManyRequests() throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setKey("rateLimitedPlayerId");
+        request.setProvider("unknownProvider");
+        request.setRole(AuthRole.ROLE_USER.name());
+
+        String content = new ObjectMapper().writeValueAsString(request);
+
+        for (int i = 0; i < 10; ++i) {
+            mvc.perform(post("/login")
+                    .with(r -> { r.setRemoteAddr("10.0.0.1"); return r; })
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(content))
+                    .andExpect(status().isBadRequest());
+        }
+
+        mvc.perform(post("/login")
+                .with(r -> { r.setRemoteAddr("10.0.0.1"); return r; })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    public void givenUnknownRole_whenLogin_thenBadRequest() throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setKey("testPlayerId");
+        request.setProvider("");
+        request.setRole("unknownRole");
+
+        MvcResult result = mvc.perform(post("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void givenPlayer_whenLogin_thenReturnSessionToken() throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setKey("testPlayerId");
+        request.setProvider("");
+        request.setRole(AuthRole.ROLE_USER.name());
+
+        MvcResult result = mvc.perform(post("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(request)))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SessionTokenIssuer.HEADER));
     }
 
     @Test
@@ -86,6 +240,46 @@ public class AuthControllerIntegrationTests {
         httpRequestUtils.assertPostOk(mvc, "/admin/unlockPlayer", request, UnlockPlayerResponse.class);
     }
 
+    @Test
+    public void givenPlayers_whenLockPlayers_thenLockPlayers() throws Exception {
+        for (int i = 0; i < 3; ++i) {
+            Player player = new Player();
+            player.setId(UUID.randomUUID().toString());
+            player.setProvider("testProvider");
+            player.setProviderUserId("testProviderUserId" + i);
+            entityManager.persistAndFlush(player);
+        }
+
+        String request = "[" +
+                "{\"provider\":\"testProvider\",\"providerUserId\":\"testProviderUserId0\"}," +
+                "{\"provider\":\"testProvider\",\"providerUserId\":\"testProviderUserId2\"}," +
+                "{\"provider\":\"testProvider\",\"providerUserId\":\"missingProviderUserId\"}" +
+                "]";
+
+        mvc.perform(post("/admin/lockPlayers").contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.playersRequested").value(3))
+                .andExpect(jsonPath("$.playersChanged").value(2))
+                .andExpect(jsonPath("$.playersNotFound[0].providerUserId").value("missingProviderUserId"));
+    }
+
+    @Test
+    public void givenPlayers_whenUnlockPlayersAsNdjson_thenUnlockPlayers() throws Exception {
+        Player player = new Player();
+        player.setId(UUID.randomUUID().toString());
+        player.setProvider("testProvider");
+        player.setProviderUserId("testProviderUserId");
+        player.setLocked(true);
+        entityManager.persistAndFlush(player);
+
+        String request = "{\"provider\":\"testProvider\",\"providerUserId\":\"testProviderUserId\"}\n";
+
+        mvc.perform(post("/admin/unlockPlayers").contentType("application/x-ndjson").content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.locked").value(false))
+                .andExpect(jsonPath("$.playersChanged").value(1));
+    }
+
     @Test
     public void whenGetSecretKeys_thenOk() throws Exception {
         httpRequestUtils.assertGetOk(mvc, "/admin/secretkeys", GetSecretKeysResponse.class);
@@ -98,9 +292,65 @@ public class AuthControllerIntegrationTests {
 
     @Test
     public void givenSecretKey_whenDeleteSecretKey_thenOk() throws Exception {
-        SecretKey secretKey = new SecretKey("testKey");
+        String key = SecretKeys.generate();
+        SecretKey secretKey = new SecretKey(SecretKeys.keyId(key), SecretKeys.hash(key));
         entityManager.persistAndFlush(secretKey);
 
-        httpRequestUtils.assertDeleteOk(mvc, "/admin/secretkeys/" + secretKey.getSecretKey());
+        httpRequestUtils.assertDeleteOk(mvc, "/admin/secretkeys/" + secretKey.getKeyId());
+    }
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void givenSecretKeyRemovedAfterLogin_whenLoginAgain_thenBadRequest() throws Exception {
+        // Let secret key changes commit, as they're only applied to the index on commit.
+        GenerateSecretKeyResponse secretKey =
+                httpRequestUtils.assertPostOk(mvc, "/admin/secretkeys", null, GenerateSecretKeyResponse.class);
+
+        LoginRequest request = new LoginRequest();
+        request.setKey(secretKey.getKey());
+        request.setProvider(ServerAuthProvider.ID);
+        request.setRole(AuthRole.ROLE_SERVER.name());
+
+        String content = new ObjectMapper().writeValueAsString(request);
+
+        MvcResult result = mvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON).content(content))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        httpRequestUtils.assertDeleteOk(mvc, "/admin/secretkeys/" + SecretKeys.keyId(secretKey.getKey()));
+
+        // Retrying right away must not be answered with the result of the first login.
+        result = mvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON).content(content))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertBinaryLoginOk(ObjectMapper objectMapper, String mediaType) throws Exception {
+        LoginRequest request = new LoginRequest();
+        request.setKey("binaryPlayerId");
+        request.setProvider("");
+        request.setRole(AuthRole.ROLE_USER.name());
+
+        MvcResult result = mvc.perform(post("/login")
+                .contentType(mediaType)
+                .accept(mediaType)
+                .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] content = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode response = objectMapper.readTree(content);
+        assertThat(response.get("playerId").asText()).isNotEmpty();
+        assertThat(response.get("providerUserId").asText()).isEqualTo("binaryPlayerId");
     }
 }
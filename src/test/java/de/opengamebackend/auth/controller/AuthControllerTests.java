@@ -0,0 +1,115 @@
+package de.opengamebackend.auth.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.opengamebackend.auth.GlobalControllerExceptionHandler;
+import de.opengamebackend.auth.concurrent.LoginCoalescer;
+import de.opengamebackend.auth.concurrent.LoginCoalescingConfig;
+import de.opengamebackend.auth.controller.providers.ProviderOverloadedException;
+import de.opengamebackend.auth.controller.tokens.SessionTokenConfig;
+import de.opengamebackend.auth.controller.tokens.SessionTokenIssuer;
+import de.opengamebackend.auth.model.requests.LoginRequest;
+import de.opengamebackend.auth.model.responses.LoginResponse;
+import de.opengamebackend.auth.ratelimit.LoginRateLimiter;
+import de.opengamebackend.net.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class AuthControllerTests {
+    private static final String TEST_USER_ID = "testUserId";
+
+    private AuthService authService;
+    private AuthController authController;
+    private LoginRequest request;
+    private LoginResponse response;
+
+    @BeforeEach
+    public void setUp() throws ApiException {
+        authService = mock(AuthService.class);
+
+        authController = new AuthController(authService,
+                new SessionTokenIssuer(new SessionTokenConfig(null, 60)),
+                mock(LoginRateLimiter.class),
+                new LoginCoalescer(new LoginCoalescingConfig(false, 0), new SimpleMeterRegistry()),
+                new ObjectMapper());
+
+        request = new LoginRequest();
+        response = new LoginResponse("testPlayerId", Lists.list("ROLE_USER"));
+
+        when(authService.authenticate(eq(request), any())).thenReturn(CompletableFuture.completedFuture(TEST_USER_ID));
+    }
+
+    @Test
+    public void givenDuplicatePlayer_whenLogin_thenRetry() throws ApiException {
+        assertRetried(new DataIntegrityViolationException("Duplicate entry"));
+    }
+
+    @Test
+    public void givenDeadlock_whenLogin_thenRetry() throws ApiException {
+        assertRetried(new DeadlockLoserDataAccessException("Deadlock found when trying to get lock", null));
+    }
+
+    @Test
+    public void givenLockTimeout_whenLogin_thenRetry() throws ApiException {
+        assertRetried(new CannotAcquireLockException("Lock wait timeout exceeded"));
+    }
+
+    @Test
+    public void givenProviderOverloaded_whenLogin_thenServiceUnavailable() throws Exception {
+        // GIVEN
+        CompletableFuture<String> userId = new CompletableFuture<>();
+        userId.completeExceptionally(new ProviderOverloadedException("Too many pending logins.", 1, null));
+        when(authService.authenticate(any(), any())).thenReturn(userId);
+
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new GlobalControllerExceptionHandler())
+                .build();
+
+        // WHEN
+        MvcResult result = mvc.perform(post("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // THEN
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    private void assertRetried(RuntimeException firstLoginException) throws ApiException {
+        // GIVEN
+        when(authService.login(request, TEST_USER_ID)).thenThrow(firstLoginException).thenReturn(response);
+
+        // WHEN
+        ResponseEntity<LoginResponse> result = authController.login(request, new MockHttpServletRequest()).join();
+
+        // THEN
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isEqualTo(response);
+        verify(authService, times(2)).login(request, TEST_USER_ID);
+    }
+}
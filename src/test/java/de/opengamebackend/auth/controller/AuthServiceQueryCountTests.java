@@ -0,0 +1,74 @@
+package de.opengamebackend.auth.controller;
+
+import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.requests.LoginRequest;
+import de.opengamebackend.net.ApiException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the statements each login sends to the database.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class AuthServiceQueryCountTests {
+    private AuthService authService;
+    private EntityManager entityManager;
+    private Statistics statistics;
+
+    @Autowired
+    public AuthServiceQueryCountTests(AuthService authService, EntityManager entityManager,
+                                      EntityManagerFactory entityManagerFactory) {
+        this.authService = authService;
+        this.entityManager = entityManager;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        statistics.clear();
+    }
+
+    @Test
+    public void givenNewPlayer_whenLogin_thenSelectAndInsert() throws ApiException {
+        // WHEN
+        authService.login(createLoginRequest("newPlayer"), "newPlayer");
+
+        // THEN
+        // Look up player, insert player.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenReturningPlayer_whenLogin_thenSelectOnce() throws ApiException {
+        // GIVEN
+        authService.login(createLoginRequest("returningPlayer"), "returningPlayer");
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // WHEN
+        authService.login(createLoginRequest("returningPlayer"), "returningPlayer");
+
+        // THEN
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private LoginRequest createLoginRequest(String key) {
+        LoginRequest request = new LoginRequest();
+        request.setProvider("");
+        request.setKey(key);
+        request.setRole(AuthRole.ROLE_USER.name());
+        return request;
+    }
+}
@@ -1,26 +1,58 @@
 package de.opengamebackend.auth.controller;
 
+import de.opengamebackend.auth.concurrent.LoginExecutor;
+import de.opengamebackend.auth.concurrent.VirtualThreadsConfig;
 import de.opengamebackend.auth.controller.providers.AuthProvider;
+import de.opengamebackend.auth.controller.providers.AuthProviderRegistry;
+import de.opengamebackend.auth.controller.providers.AuthProvidersConfig;
+import de.opengamebackend.auth.controller.providers.ServerAuthProvider;
+import de.opengamebackend.auth.invalidation.CacheInvalidator;
+import de.opengamebackend.auth.invalidation.InvalidationConfig;
+import de.opengamebackend.auth.invalidation.InvalidationEvent;
+import de.opengamebackend.auth.invalidation.InvalidationListener;
+import de.opengamebackend.auth.invalidation.InvalidationType;
+import de.opengamebackend.auth.invalidation.LoopbackInvalidationChannel;
+import de.opengamebackend.auth.metrics.LoginMetrics;
+import de.opengamebackend.auth.metrics.LoginStage;
 import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.PlayerCache;
+import de.opengamebackend.auth.model.PlayerCacheConfig;
+import de.opengamebackend.auth.model.PlayerIds;
+import de.opengamebackend.auth.model.RoleMask;
+import de.opengamebackend.auth.model.RoleRegistry;
+import de.opengamebackend.auth.model.SecretKeyIndex;
+import de.opengamebackend.auth.model.SecretKeys;
 import de.opengamebackend.auth.model.entities.Player;
 import de.opengamebackend.auth.model.entities.Role;
 import de.opengamebackend.auth.model.entities.SecretKey;
 import de.opengamebackend.auth.model.repositories.PlayerRepository;
-import de.opengamebackend.auth.model.repositories.RoleRepository;
 import de.opengamebackend.auth.model.repositories.SecretKeyRepository;
 import de.opengamebackend.auth.model.requests.LockPlayerRequest;
 import de.opengamebackend.auth.model.requests.LoginRequest;
+import de.opengamebackend.auth.model.requests.PlayerIdentity;
 import de.opengamebackend.auth.model.requests.UnlockPlayerRequest;
 import de.opengamebackend.auth.model.responses.*;
+import de.opengamebackend.auth.ratelimit.RateLimitExceededException;
+import de.opengamebackend.auth.ratelimit.SecretKeyThrottle;
+import de.opengamebackend.auth.ratelimit.SecretKeyThrottleConfig;
 import de.opengamebackend.net.ApiErrors;
 import de.opengamebackend.net.ApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -28,32 +60,56 @@ import static org.mockito.Mockito.*;
 
 public class AuthServiceTests {
     private static final String TEST_PROVIDER_ID = "testProvider";
+    private static final String TEST_SOURCE = "127.0.0.1";
 
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
     private PlayerRepository playerRepository;
+    private PlayerCache playerCache;
     private SecretKeyRepository secretKeyRepository;
+    private SecretKeyIndex secretKeyIndex;
+    private InvalidationListener invalidationListener;
+    private CacheInvalidator cacheInvalidator;
     private AuthProvider authProvider;
+    private MeterRegistry meterRegistry;
 
     private AuthService authService;
 
     @BeforeEach
     public void setUp() {
-        roleRepository = mock(RoleRepository.class);
+        roleRegistry = mock(RoleRegistry.class);
         playerRepository = mock(PlayerRepository.class);
         secretKeyRepository = mock(SecretKeyRepository.class);
+        secretKeyIndex = mock(SecretKeyIndex.class);
+
+        when(playerRepository.insertIfAbsent(any())).thenReturn(true);
 
         authProvider = mock(AuthProvider.class);
         when(authProvider.getId()).thenReturn(TEST_PROVIDER_ID);
+        when(authProvider.authenticateAsync(any(), any())).thenCallRealMethod();
+
+        meterRegistry = new SimpleMeterRegistry();
+        playerCache = new PlayerCache(new PlayerCacheConfig(true, 100, 60), meterRegistry);
+
+        LoopbackInvalidationChannel invalidationChannel = new LoopbackInvalidationChannel();
+        invalidationListener = mock(InvalidationListener.class);
+        invalidationChannel.subscribe(invalidationListener);
+
+        cacheInvalidator = new CacheInvalidator(invalidationChannel, playerCache, secretKeyIndex,
+                new InvalidationConfig("loopback", 1000, 60000, 3600, 30, 1000, 100));
+        cacheInvalidator.postConstruct();
+
+        LoginMetrics loginMetrics = new LoginMetrics(meterRegistry);
 
-        authService = new AuthService(roleRepository, playerRepository, secretKeyRepository, Lists.list(authProvider));
+        authService = new AuthService(roleRegistry, playerRepository, playerCache, secretKeyRepository, secretKeyIndex,
+                cacheInvalidator,
+                new AuthProviderRegistry(Lists.list(authProvider), new AuthProvidersConfig(null), loginMetrics),
+                new LoginExecutor(new VirtualThreadsConfig(false)), loginMetrics,
+                new SecretKeyThrottle(new SecretKeyThrottleConfig(1, 0, 16)));
     }
 
     @Test
     public void givenPlayers_whenGetPlayers_thenReturnPlayers() {
         // GIVEN
-        Role role = mock(Role.class);
-        when(roleRepository.findById(AuthRole.ROLE_USER.name())).thenReturn(Optional.of(role));
-
         String player1Id = "player1";
         String player1ProviderUserId = "providerPlayer1";
         String player2Id = "player2";
@@ -73,8 +129,8 @@ public class AuthServiceTests {
 
         List<Player> players = Lists.list(player1, player2);
 
-        when(playerRepository.findByRoles(eq(role), any())).thenReturn(players);
-        when(playerRepository.countByRoles(role)).thenReturn(players.size());
+        when(playerRepository.findByRole(eq(AuthRole.ROLE_USER), any())).thenReturn(players);
+        when(playerRepository.countByRole(AuthRole.ROLE_USER)).thenReturn(players.size());
 
         // WHEN
         GetPlayersResponse response = authService.getPlayers(0);
@@ -94,25 +150,71 @@ public class AuthServiceTests {
     }
 
     @Test
-    public void givenAdmins_whenGetAdmins_thenReturnAdmins() {
+    public void givenFullPage_whenGetPlayersAfter_thenReturnNextCursor() {
         // GIVEN
-        Role role = mock(Role.class);
-        when(roleRepository.findById(AuthRole.ROLE_ADMIN.name())).thenReturn(Optional.of(role));
+        List<GetPlayersResponsePlayer> players = new ArrayList<>();
+
+        for (int i = 0; i < 100; ++i) {
+            players.add(new GetPlayersResponsePlayer(new UUID(0, i).toString(), TEST_PROVIDER_ID, "providerPlayer" + i));
+        }
+
+        when(playerRepository.findPlayersByRoleAfter(eq(AuthRole.ROLE_USER), eq(PlayerIds.MIN), any())).thenReturn(players);
+        when(playerRepository.findPlayersByRoleAfter(eq(AuthRole.ROLE_USER), eq(new UUID(0, 99).toString()), any()))
+                .thenReturn(Lists.list());
+
+        // WHEN
+        GetPlayersCursorResponse firstPage = authService.getPlayersAfter("", false);
+        GetPlayersCursorResponse secondPage = authService.getPlayersAfter(firstPage.getNextCursor(), false);
+
+        // THEN
+        assertThat(firstPage.getPlayers()).hasSize(100);
+        assertThat(firstPage.getNextCursor()).isNotNull();
+        assertThat(firstPage.getTotalPlayers()).isNull();
+        assertThat(secondPage.getPlayers()).isEmpty();
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void givenIncludeTotal_whenGetPlayersAfter_thenReturnCachedTotal() {
+        // GIVEN
+        when(playerRepository.findPlayersByRoleAfter(eq(AuthRole.ROLE_USER), any(), any())).thenReturn(Lists.list());
+        when(playerRepository.countByRole(AuthRole.ROLE_USER)).thenReturn(42);
 
+        // WHEN
+        authService.getPlayersAfter("", true);
+        GetPlayersCursorResponse response = authService.getPlayersAfter("", true);
+
+        // THEN
+        assertThat(response.getTotalPlayers()).isEqualTo(42);
+        verify(playerRepository, times(1)).countByRole(AuthRole.ROLE_USER);
+    }
+
+    @Test
+    public void givenInvalidCursor_whenGetPlayersAfter_thenThrowException() {
+        assertThatExceptionOfType(ResponseStatusException.class)
+                .isThrownBy(() -> authService.getPlayersAfter("!!!", false));
+    }
+
+    @Test
+    public void givenCursorOfInvalidPlayerId_whenGetPlayersAfter_thenThrowException() {
+        // GIVEN
+        String cursor = Base64.getUrlEncoder().encodeToString("player1".getBytes(StandardCharsets.UTF_8));
+
+        // WHEN & THEN
+        assertThatExceptionOfType(ResponseStatusException.class)
+                .isThrownBy(() -> authService.getPlayersAfter(cursor, false));
+    }
+
+    @Test
+    public void givenAdmins_whenGetAdmins_thenReturnAdmins() {
+        // GIVEN
         String admin1Id = "admin1";
         String admin2Id = "admin2";
 
-        Player admin1 = mock(Player.class);
-        when(admin1.getProvider()).thenReturn(TEST_PROVIDER_ID);
-        when(admin1.getProviderUserId()).thenReturn(admin1Id);
-        when(admin1.isLocked()).thenReturn(false);
+        GetAdminsResponseAdmin admin1 = new GetAdminsResponseAdmin(TEST_PROVIDER_ID, admin1Id, false);
+        GetAdminsResponseAdmin admin2 = new GetAdminsResponseAdmin(TEST_PROVIDER_ID, admin2Id, true);
 
-        Player admin2 = mock(Player.class);
-        when(admin2.getProvider()).thenReturn(TEST_PROVIDER_ID);
-        when(admin2.getProviderUserId()).thenReturn(admin2Id);
-        when(admin2.isLocked()).thenReturn(true);
-
-        when(playerRepository.findByRoles(role)).thenReturn(Lists.list(admin1, admin2));
+        when(playerRepository.findAdminsByRole(AuthRole.ROLE_ADMIN)).thenReturn(Lists.list(admin1, admin2));
 
         // WHEN
         GetAdminsResponse response = authService.getAdmins();
@@ -130,57 +232,132 @@ public class AuthServiceTests {
     }
 
     @Test
-    public void givenUnknownProvider_whenLogin_thenThrowException() {
+    public void givenUnknownProvider_whenAuthenticate_thenThrowException() {
         // GIVEN
         LoginRequest request = mock(LoginRequest.class);
 
         // WHEN & THEN
         assertThatExceptionOfType(ApiException.class)
-                .isThrownBy(() -> authService.login(request))
+                .isThrownBy(() -> authService.authenticate(request, TEST_SOURCE))
                 .withMessage(ApiErrors.UNKNOWN_AUTH_PROVIDER_MESSAGE);
     }
 
     @Test
-    public void givenInvalidKey_whenLogin_thenThrowException() {
+    public void givenInvalidKey_whenAuthenticate_thenThrowException() {
         // GIVEN
         LoginRequest request = mock(LoginRequest.class);
         when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
 
         // WHEN & THEN
-        assertThatExceptionOfType(ApiException.class)
-                .isThrownBy(() -> authService.login(request))
-                .withMessage(ApiErrors.INVALID_CREDENTIALS_MESSAGE);
+        assertThatExceptionOfType(CompletionException.class)
+                .isThrownBy(() -> authService.authenticate(request, TEST_SOURCE).join())
+                .withCauseInstanceOf(ApiException.class)
+                .satisfies(e -> assertThat(e.getCause()).hasMessage(ApiErrors.INVALID_CREDENTIALS_MESSAGE));
     }
 
     @Test
-    public void givenInvalidRole_whenLogin_thenThrowException() {
+    public void givenValidKey_whenAuthenticate_thenReturnUserId() throws ApiException {
         // GIVEN
         LoginRequest request = mock(LoginRequest.class);
         when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
         when(authProvider.authenticate(any(), any())).thenReturn("testPlayerId");
 
+        // WHEN
+        String userId = authService.authenticate(request, TEST_SOURCE).join();
+
+        // THEN
+        assertThat(userId).isEqualTo("testPlayerId");
+    }
+
+    @Test
+    public void givenFailedServerLogin_whenAuthenticate_thenThrottle() throws ApiException {
+        // GIVEN
+        AuthProvider serverProvider = mock(AuthProvider.class);
+        when(serverProvider.getId()).thenReturn(ServerAuthProvider.ID);
+        when(serverProvider.authenticateAsync(any(), any())).thenCallRealMethod();
+
+        AuthService service = createServerAuthService(serverProvider);
+
+        LoginRequest request = mock(LoginRequest.class);
+        when(request.getProvider()).thenReturn(ServerAuthProvider.ID);
+
+        assertThatExceptionOfType(CompletionException.class)
+                .isThrownBy(() -> service.authenticate(request, TEST_SOURCE).join());
+
+        // WHEN & THEN
+        assertThatExceptionOfType(RateLimitExceededException.class)
+                .isThrownBy(() -> service.authenticate(request, TEST_SOURCE));
+        verify(serverProvider, times(1)).authenticate(any(), any());
+    }
+
+    @Test
+    public void givenPendingServerLogin_whenAuthenticate_thenThrottle() throws ApiException {
+        // GIVEN
+        AuthProvider serverProvider = mock(AuthProvider.class);
+        when(serverProvider.getId()).thenReturn(ServerAuthProvider.ID);
+        when(serverProvider.authenticateAsync(any(), any())).thenReturn(new CompletableFuture<>());
+
+        AuthService service = createServerAuthService(serverProvider);
+
+        LoginRequest request = mock(LoginRequest.class);
+        when(request.getProvider()).thenReturn(ServerAuthProvider.ID);
+
+        service.authenticate(request, TEST_SOURCE);
+
+        // WHEN & THEN
+        assertThatExceptionOfType(RateLimitExceededException.class)
+                .isThrownBy(() -> service.authenticate(request, TEST_SOURCE));
+    }
+
+    @Test
+    public void givenSuccessfulServerLogins_whenAuthenticate_thenDoNotThrottle() throws ApiException {
+        // GIVEN
+        AuthProvider serverProvider = mock(AuthProvider.class);
+        when(serverProvider.getId()).thenReturn(ServerAuthProvider.ID);
+        when(serverProvider.authenticateAsync(any(), any())).thenReturn(CompletableFuture.completedFuture("server"));
+
+        AuthService service = createServerAuthService(serverProvider);
+
+        LoginRequest request = mock(LoginRequest.class);
+        when(request.getProvider()).thenReturn(ServerAuthProvider.ID);
+
+        service.authenticate(request, TEST_SOURCE).join();
+        service.authenticate(request, TEST_SOURCE).join();
+
+        // WHEN
+        String userId = service.authenticate(request, TEST_SOURCE).join();
+
+        // THEN
+        assertThat(userId).isEqualTo("server");
+    }
+
+    @Test
+    public void givenInvalidRole_whenLogin_thenThrowException() {
+        // GIVEN
+        LoginRequest request = mock(LoginRequest.class);
+        when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
+
         // WHEN & THEN
         assertThatExceptionOfType(ApiException.class)
-                .isThrownBy(() -> authService.login(request))
+                .isThrownBy(() -> authService.login(request, "testPlayerId"))
                 .withMessage(ApiErrors.INVALID_ROLE_MESSAGE);
     }
 
     @Test
     public void givenValidRequest_whenLogin_thenReturnPlayer() throws ApiException {
         // GIVEN
-        String roleName = "testRole";
+        String roleName = AuthRole.ROLE_USER.name();
 
         Role role = mock(Role.class);
         when(role.getName()).thenReturn(roleName);
-        when(roleRepository.findById(roleName)).thenReturn(Optional.of(role));
+        when(roleRegistry.getRole(roleName)).thenReturn(role);
 
         LoginRequest request = mock(LoginRequest.class);
         when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
         when(request.getRole()).thenReturn(roleName);
-        when(authProvider.authenticate(any(), any())).thenReturn("testPlayerId");
 
         // WHEN
-        LoginResponse response = authService.login(request);
+        LoginResponse response = authService.login(request, "testPlayerId");
 
         // THEN
         assertThat(response.getPlayerId()).isNotNull();
@@ -188,27 +365,85 @@ public class AuthServiceTests {
         assertThat(response.getRoles()).containsExactly(roleName);
     }
 
+    @Test
+    public void givenValidRequest_whenLogin_thenRecordStages() throws ApiException {
+        // GIVEN
+        String roleName = AuthRole.ROLE_USER.name();
+
+        Role role = mock(Role.class);
+        when(role.getName()).thenReturn(roleName);
+        when(roleRegistry.getRole(roleName)).thenReturn(role);
+
+        LoginRequest request = mock(LoginRequest.class);
+        when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
+        when(request.getRole()).thenReturn(roleName);
+
+        // WHEN
+        authService.login(request, "testPlayerId");
+
+        // THEN
+        assertThat(stageCount(LoginStage.ROLE_LOOKUP)).isEqualTo(1L);
+        assertThat(stageCount(LoginStage.PLAYER_LOOKUP)).isEqualTo(1L);
+        assertThat(stageCount(LoginStage.FIRST_TIME_SETUP)).isEqualTo(0L);
+        assertThat(stageCount(LoginStage.SAVE)).isEqualTo(1L);
+        assertThat(stageCount(LoginStage.RESPONSE_BUILD)).isEqualTo(1L);
+    }
+
+    @Test
+    public void givenInvalidRole_whenLogin_thenCountFailure() {
+        // GIVEN
+        LoginRequest request = mock(LoginRequest.class);
+        when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
+
+        // WHEN
+        assertThatExceptionOfType(ApiException.class)
+                .isThrownBy(() -> authService.login(request, "testPlayerId"));
+
+        // THEN
+        assertThat(meterRegistry.get(LoginMetrics.FAILURE_COUNTER)
+                .tag("code", String.valueOf(ApiErrors.INVALID_ROLE_CODE))
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void givenValidKey_whenAuthenticate_thenRecordAuthentication() throws ApiException {
+        // GIVEN
+        LoginRequest request = mock(LoginRequest.class);
+        when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
+        when(authProvider.authenticate(any(), any())).thenReturn("testPlayerId");
+
+        // WHEN
+        authService.authenticate(request, TEST_SOURCE).join();
+
+        // THEN
+        assertThat(stageCount(LoginStage.PROVIDER_LOOKUP)).isEqualTo(1L);
+        assertThat(meterRegistry.get(LoginMetrics.AUTHENTICATE_TIMER)
+                .tag("provider", TEST_PROVIDER_ID)
+                .tag("result", "success")
+                .timer().count()).isEqualTo(1L);
+    }
+
     @Test
     public void givenExistingPlayer_whenLogin_thenReturnPlayer() throws ApiException {
         // GIVEN
         String playerId = "testPlayerId";
         String providerUserId = "testProviderUserId";
-        String roleName = "testRole";
+        String roleName = AuthRole.ROLE_USER.name();
 
         Role role = mock(Role.class);
-        when(roleRepository.findById(roleName)).thenReturn(Optional.of(role));
+        when(roleRegistry.getRole(roleName)).thenReturn(role);
 
         LoginRequest request = mock(LoginRequest.class);
         when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
         when(request.getRole()).thenReturn(roleName);
-        when(authProvider.authenticate(any(), any())).thenReturn(providerUserId);
 
         Player player = mock(Player.class);
         when(player.getId()).thenReturn(playerId);
-        when(playerRepository.findByProviderAndProviderUserId(TEST_PROVIDER_ID, providerUserId)).thenReturn(Optional.of(player));
+        when(playerRepository.findByProviderAndProviderUserId(TEST_PROVIDER_ID, providerUserId))
+                .thenReturn(Optional.of(player));
 
         // WHEN
-        LoginResponse response = authService.login(request);
+        LoginResponse response = authService.login(request, providerUserId);
 
         // THEN
         assertThat(response.getPlayerId()).isEqualTo(playerId);
@@ -216,20 +451,132 @@ public class AuthServiceTests {
         assertThat(response.getProviderUserId()).isEqualTo(providerUserId);
     }
 
+    @Test
+    public void givenReturningPlayer_whenLoginAgain_thenServeFromCache() throws ApiException {
+        // GIVEN
+        Role role = mock(Role.class);
+        when(roleRegistry.getRole(AuthRole.ROLE_USER.name())).thenReturn(role);
+
+        LoginRequest request = mock(LoginRequest.class);
+        when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
+        when(request.getRole()).thenReturn(AuthRole.ROLE_USER.name());
+
+        Player player = mock(Player.class);
+        when(player.getId()).thenReturn("testPlayerId");
+        when(player.getProvider()).thenReturn(TEST_PROVIDER_ID);
+        when(player.getProviderUserId()).thenReturn("testProviderUserId");
+        when(playerRepository.findByProviderAndProviderUserId(TEST_PROVIDER_ID, "testProviderUserId"))
+                .thenReturn(Optional.of(player));
+
+        authService.login(request, "testProviderUserId");
+
+        // WHEN
+        LoginResponse response = authService.login(request, "testProviderUserId");
+
+        // THEN
+        assertThat(response.getPlayerId()).isEqualTo("testPlayerId");
+        verify(playerRepository, times(1))
+                .findByProviderAndProviderUserId(TEST_PROVIDER_ID, "testProviderUserId");
+    }
+
+    @Test
+    public void givenCachedPlayer_whenLockPlayer_thenNextLoginIsLocked() throws ApiException {
+        // GIVEN
+        Role role = mock(Role.class);
+        when(roleRegistry.getRole(AuthRole.ROLE_USER.name())).thenReturn(role);
+
+        LoginRequest loginRequest = mock(LoginRequest.class);
+        when(loginRequest.getProvider()).thenReturn(TEST_PROVIDER_ID);
+        when(loginRequest.getRole()).thenReturn(AuthRole.ROLE_USER.name());
+
+        Player player = new Player();
+        player.setId(PlayerIds.generate());
+        player.setProvider(TEST_PROVIDER_ID);
+        player.setProviderUserId("testProviderUserId");
+        when(playerRepository.findByProviderAndProviderUserId(TEST_PROVIDER_ID, "testProviderUserId"))
+                .thenReturn(Optional.of(player));
+
+        assertThat(authService.login(loginRequest, "testProviderUserId").isLocked()).isFalse();
+
+        LockPlayerRequest lockRequest = mock(LockPlayerRequest.class);
+        when(lockRequest.getProvider()).thenReturn(TEST_PROVIDER_ID);
+        when(lockRequest.getProviderUserId()).thenReturn("testProviderUserId");
+
+        // WHEN
+        authService.lockPlayer(lockRequest);
+
+        // THEN
+        assertThat(authService.login(loginRequest, "testProviderUserId").isLocked()).isTrue();
+    }
+
+    @Test
+    public void givenNewPlayer_whenLogin_thenInsertPlayer() throws ApiException {
+        // GIVEN
+        String roleName = AuthRole.ROLE_USER.name();
+
+        Role role = mock(Role.class);
+        when(role.getName()).thenReturn(roleName);
+        when(roleRegistry.getRole(roleName)).thenReturn(role);
+
+        LoginRequest request = mock(LoginRequest.class);
+        when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
+        when(request.getRole()).thenReturn(roleName);
+
+        // WHEN
+        authService.login(request, "testPlayerId");
+
+        // THEN
+        ArgumentCaptor<Player> argumentCaptor = ArgumentCaptor.forClass(Player.class);
+        verify(playerRepository).insertIfAbsent(argumentCaptor.capture());
+
+        Player insertedPlayer = argumentCaptor.getValue();
+
+        assertThat(insertedPlayer.getProvider()).isEqualTo(TEST_PROVIDER_ID);
+        assertThat(insertedPlayer.getProviderUserId()).isEqualTo("testPlayerId");
+        assertThat(insertedPlayer.getRoleMask()).isEqualTo(RoleMask.of(AuthRole.ROLE_USER));
+        assertThat(PlayerIds.isValid(insertedPlayer.getId())).isTrue();
+    }
+
+    @Test
+    public void givenConcurrentlyCreatedPlayer_whenLogin_thenReturnExistingPlayer() throws ApiException {
+        // GIVEN
+        String playerId = "testPlayerId";
+        String providerUserId = "testProviderUserId";
+        String roleName = AuthRole.ROLE_USER.name();
+
+        Role role = mock(Role.class);
+        when(roleRegistry.getRole(roleName)).thenReturn(role);
+
+        LoginRequest request = mock(LoginRequest.class);
+        when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
+        when(request.getRole()).thenReturn(roleName);
+
+        Player player = mock(Player.class);
+        when(player.getId()).thenReturn(playerId);
+        when(playerRepository.findByProviderAndProviderUserId(TEST_PROVIDER_ID, providerUserId))
+                .thenReturn(Optional.empty(), Optional.of(player));
+        when(playerRepository.insertIfAbsent(any())).thenReturn(false);
+
+        // WHEN
+        LoginResponse response = authService.login(request, providerUserId);
+
+        // THEN
+        assertThat(response.getPlayerId()).isEqualTo(playerId);
+    }
+
     @Test
     public void givenFirstAdmin_whenLogin_thenReturnFirstTimeSetup() throws ApiException {
         // GIVEN
         Role role = mock(Role.class);
         when(role.getName()).thenReturn(AuthRole.ROLE_ADMIN.name());
-        when(roleRepository.findById(AuthRole.ROLE_ADMIN.name())).thenReturn(Optional.of(role));
+        when(roleRegistry.getRole(AuthRole.ROLE_ADMIN.name())).thenReturn(role);
 
         LoginRequest request = mock(LoginRequest.class);
         when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
         when(request.getRole()).thenReturn(AuthRole.ROLE_ADMIN.name());
-        when(authProvider.authenticate(any(), any())).thenReturn("testPlayerId");
 
         // WHEN
-        LoginResponse response = authService.login(request);
+        LoginResponse response = authService.login(request, "testPlayerId");
 
         // THEN
         assertThat(response.isFirstTimeSetup()).isTrue();
@@ -240,23 +587,43 @@ public class AuthServiceTests {
         // GIVEN
         Role role = mock(Role.class);
         when(role.getName()).thenReturn(AuthRole.ROLE_ADMIN.name());
-        when(roleRepository.findById(AuthRole.ROLE_ADMIN.name())).thenReturn(Optional.of(role));
+        when(roleRegistry.getRole(AuthRole.ROLE_ADMIN.name())).thenReturn(role);
 
         LoginRequest request = mock(LoginRequest.class);
         when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
         when(request.getRole()).thenReturn(AuthRole.ROLE_ADMIN.name());
-        when(authProvider.authenticate(any(), any())).thenReturn("testPlayerId");
 
-        Player existingAdmin = mock(Player.class);
-        when(playerRepository.findByRoles(role)).thenReturn(Lists.list(existingAdmin));
+        when(playerRepository.existsByRole(AuthRole.ROLE_ADMIN)).thenReturn(true);
 
         // WHEN
-        LoginResponse response = authService.login(request);
+        LoginResponse response = authService.login(request, "testPlayerId");
 
         // THEN
         assertThat(response.isLocked()).isTrue();
     }
 
+    @Test
+    public void givenAdminBootstrapped_whenLogin_thenSkipAdminCheck() throws ApiException {
+        // GIVEN
+        Role role = mock(Role.class);
+        when(role.getName()).thenReturn(AuthRole.ROLE_ADMIN.name());
+        when(roleRegistry.getRole(AuthRole.ROLE_ADMIN.name())).thenReturn(role);
+
+        LoginRequest request = mock(LoginRequest.class);
+        when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
+        when(request.getRole()).thenReturn(AuthRole.ROLE_ADMIN.name());
+
+        when(playerRepository.existsByRole(AuthRole.ROLE_ADMIN)).thenReturn(true);
+        authService.login(request, "testPlayerId");
+
+        // WHEN
+        LoginResponse response = authService.login(request, "otherPlayerId");
+
+        // THEN
+        assertThat(response.isLocked()).isTrue();
+        verify(playerRepository, times(1)).existsByRole(AuthRole.ROLE_ADMIN);
+    }
+
     @Test
     public void givenInvalidPlayer_whenLockPlayer_thenThrowException() {
         // GIVEN
@@ -292,6 +659,96 @@ public class AuthServiceTests {
         assertThat(response.isLocked()).isTrue();
     }
 
+    @Test
+    public void givenValidPlayer_whenLockPlayer_thenPublishInvalidation() throws ApiException {
+        // GIVEN
+        String providerUserId = "testPlayer";
+
+        Player player = mock(Player.class);
+        when(playerRepository.findByProviderAndProviderUserId(TEST_PROVIDER_ID, providerUserId)).thenReturn(Optional.of(player));
+
+        LockPlayerRequest request = mock(LockPlayerRequest.class);
+        when(request.getProvider()).thenReturn(TEST_PROVIDER_ID);
+        when(request.getProviderUserId()).thenReturn(providerUserId);
+
+        // WHEN
+        authService.lockPlayer(request);
+
+        // THEN
+        ArgumentCaptor<InvalidationEvent> argumentCaptor = ArgumentCaptor.forClass(InvalidationEvent.class);
+        verify(invalidationListener).onInvalidation(argumentCaptor.capture());
+
+        InvalidationEvent event = argumentCaptor.getValue();
+
+        assertThat(event.getType()).isEqualTo(InvalidationType.PLAYER);
+        assertThat(event.getProvider()).isEqualTo(TEST_PROVIDER_ID);
+        assertThat(event.getProviderUserId()).isEqualTo(providerUserId);
+    }
+
+    @Test
+    public void givenPlayers_whenSetPlayersLocked_thenLockFoundPlayers() {
+        // GIVEN
+        List<PlayerIdentity> players = Lists.list(
+                new PlayerIdentity(TEST_PROVIDER_ID, "player1"),
+                new PlayerIdentity(TEST_PROVIDER_ID, "player2"),
+                new PlayerIdentity(TEST_PROVIDER_ID, "missingPlayer"));
+
+        when(playerRepository.findProviderUserIds(eq(TEST_PROVIDER_ID), any())).thenReturn(Lists.list("player1", "player2"));
+        when(playerRepository.updateLocked(eq(TEST_PROVIDER_ID), any(), eq(true))).thenReturn(2);
+
+        // WHEN
+        LockPlayersResponse response = authService.setPlayersLocked(players, true);
+
+        // THEN
+        verify(playerRepository).updateLocked(TEST_PROVIDER_ID, Lists.list("player1", "player2"), true);
+
+        assertThat(response.isLocked()).isTrue();
+        assertThat(response.getPlayersRequested()).isEqualTo(3);
+        assertThat(response.getPlayersChanged()).isEqualTo(2);
+        assertThat(response.getPlayersNotFound()).hasSize(1);
+        assertThat(response.getPlayersNotFound().get(0).getProviderUserId()).isEqualTo("missingPlayer");
+    }
+
+    @Test
+    public void givenManyPlayers_whenSetPlayersLocked_thenPublishSingleEvent() {
+        // GIVEN
+        List<PlayerIdentity> players = new ArrayList<>();
+        List<String> providerUserIds = new ArrayList<>();
+
+        for (int i = 0; i < 101; ++i) {
+            players.add(new PlayerIdentity(TEST_PROVIDER_ID, "player" + i));
+            providerUserIds.add("player" + i);
+        }
+
+        when(playerRepository.findProviderUserIds(eq(TEST_PROVIDER_ID), any())).thenReturn(providerUserIds);
+        when(playerRepository.updateLocked(eq(TEST_PROVIDER_ID), any(), eq(true))).thenReturn(101);
+
+        // WHEN
+        authService.setPlayersLocked(players, true);
+
+        // THEN
+        ArgumentCaptor<InvalidationEvent> argumentCaptor = ArgumentCaptor.forClass(InvalidationEvent.class);
+        verify(invalidationListener).onInvalidation(argumentCaptor.capture());
+
+        assertThat(argumentCaptor.getValue().getType()).isEqualTo(InvalidationType.ALL_PLAYERS);
+    }
+
+    @Test
+    public void givenUnknownPlayers_whenSetPlayersLocked_thenSkipUpdate() {
+        // GIVEN
+        List<PlayerIdentity> players = Lists.list(new PlayerIdentity(TEST_PROVIDER_ID, "missingPlayer"));
+        when(playerRepository.findProviderUserIds(eq(TEST_PROVIDER_ID), any())).thenReturn(Lists.list());
+
+        // WHEN
+        LockPlayersResponse response = authService.setPlayersLocked(players, false);
+
+        // THEN
+        verify(playerRepository, never()).updateLocked(any(), any(), anyBoolean());
+
+        assertThat(response.getPlayersChanged()).isZero();
+        assertThat(response.getPlayersNotFound()).hasSize(1);
+    }
+
     @Test
     public void givenInvalidPlayer_whenUnlockPlayer_thenThrowException() {
         // GIVEN
@@ -331,10 +788,10 @@ public class AuthServiceTests {
     public void givenSecretKeys_whenGetSecretKeys_thenReturnKeys() {
         // GIVEN
         SecretKey key1 = mock(SecretKey.class);
-        when(key1.getSecretKey()).thenReturn("key1");
+        when(key1.getKeyId()).thenReturn("key1");
 
         SecretKey key2 = mock(SecretKey.class);
-        when(key2.getSecretKey()).thenReturn("key2");
+        when(key2.getKeyId()).thenReturn("key2");
 
         when(secretKeyRepository.findAll()).thenReturn(Lists.list(key1, key2));
 
@@ -345,14 +802,14 @@ public class AuthServiceTests {
         assertThat(response).isNotNull();
         assertThat(response.getKeys()).isNotNull();
         assertThat(response.getKeys()).hasSize(2);
-        assertThat(response.getKeys().get(0)).isEqualTo(key1.getSecretKey());
-        assertThat(response.getKeys().get(1)).isEqualTo(key2.getSecretKey());
+        assertThat(response.getKeys().get(0)).isEqualTo(key1.getKeyId());
+        assertThat(response.getKeys().get(1)).isEqualTo(key2.getKeyId());
     }
 
     @Test
-    public void whenGenerateSecretKey_thenSavesNewKey() {
+    public void whenGenerateSecretKey_thenSavesKeyIdAndHash() {
         // WHEN
-        authService.generateSecretKey();
+        GenerateSecretKeyResponse response = authService.generateSecretKey();
 
         // THEN
         ArgumentCaptor<SecretKey> argumentCaptor = ArgumentCaptor.forClass(SecretKey.class);
@@ -361,8 +818,29 @@ public class AuthServiceTests {
         SecretKey savedKey = argumentCaptor.getValue();
 
         assertThat(savedKey).isNotNull();
-        assertThat(savedKey.getSecretKey()).isNotNull();
-        assertThat(savedKey.getSecretKey()).isNotEmpty();
+        assertThat(savedKey.getKeyId()).isEqualTo(SecretKeys.keyId(response.getKey()));
+        assertThat(savedKey.getKeyHash()).hasSize(SecretKeys.HASH_LENGTH);
+        assertThat(SecretKeys.matches(savedKey.getKeyHash(), response.getKey())).isTrue();
+    }
+
+    @Test
+    public void whenGenerateSecretKey_thenIndexesNewKey() {
+        // WHEN
+        authService.generateSecretKey();
+
+        // THEN
+        verify(secretKeyIndex).add(any(SecretKey.class));
+    }
+
+    @Test
+    public void whenGenerateSecretKey_thenPublishInvalidation() {
+        // WHEN
+        authService.generateSecretKey();
+
+        // THEN
+        ArgumentCaptor<InvalidationEvent> argumentCaptor = ArgumentCaptor.forClass(InvalidationEvent.class);
+        verify(invalidationListener).onInvalidation(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().getType()).isEqualTo(InvalidationType.SECRET_KEYS);
     }
 
     @Test
@@ -387,15 +865,68 @@ public class AuthServiceTests {
     @Test
     public void givenValidKey_whenRemoveSecretKey_thenDeletesKey() throws ApiException {
         // GIVEN
-        String key = "testKey";
+        String key = SecretKeys.generate();
+        String keyId = SecretKeys.keyId(key);
 
-        SecretKey secretKey = mock(SecretKey.class);
-        when(secretKeyRepository.findById(key)).thenReturn(Optional.of(secretKey));
+        SecretKey secretKey = new SecretKey(keyId, SecretKeys.hash(key));
+        when(secretKeyRepository.findById(keyId)).thenReturn(Optional.of(secretKey));
 
         // WHEN
         authService.removeSecretKey(key);
 
         // THEN
         verify(secretKeyRepository).delete(secretKey);
+        verify(secretKeyIndex).remove(keyId);
+        verify(invalidationListener).onInvalidation(any());
+    }
+
+    @Test
+    public void givenValidKeyId_whenRemoveSecretKey_thenDeletesKey() throws ApiException {
+        // GIVEN
+        String keyId = SecretKeys.keyId(SecretKeys.generate());
+
+        SecretKey secretKey = mock(SecretKey.class);
+        when(secretKeyRepository.findById(keyId)).thenReturn(Optional.of(secretKey));
+
+        // WHEN
+        authService.removeSecretKey(keyId);
+
+        // THEN
+        verify(secretKeyRepository).delete(secretKey);
+        verify(secretKeyIndex).remove(keyId);
+    }
+
+    @Test
+    public void givenKeyWithWrongSecret_whenRemoveSecretKey_thenThrowException() {
+        // GIVEN
+        String key = SecretKeys.generate();
+        String keyId = SecretKeys.keyId(key);
+
+        SecretKey secretKey = new SecretKey(keyId, SecretKeys.hash(key));
+        when(secretKeyRepository.findById(keyId)).thenReturn(Optional.of(secretKey));
+
+        String otherKey = keyId + SecretKeys.generate().substring(SecretKeys.KEY_ID_LENGTH);
+
+        // WHEN & THEN
+        assertThatExceptionOfType(ApiException.class)
+                .isThrownBy(() -> authService.removeSecretKey(otherKey))
+                .withMessage(ApiErrors.INVALID_SECRET_KEY_MESSAGE);
+
+        verify(secretKeyRepository, never()).delete(any());
+        verify(secretKeyIndex, never()).remove(any());
+    }
+
+    private AuthService createServerAuthService(AuthProvider serverProvider) {
+        LoginMetrics loginMetrics = new LoginMetrics(meterRegistry);
+
+        return new AuthService(roleRegistry, playerRepository, playerCache, secretKeyRepository, secretKeyIndex,
+                cacheInvalidator,
+                new AuthProviderRegistry(Lists.list(serverProvider), new AuthProvidersConfig(null), loginMetrics),
+                new LoginExecutor(new VirtualThreadsConfig(false)), loginMetrics,
+                new SecretKeyThrottle(new SecretKeyThrottleConfig(1, 0, 16)));
+    }
+
+    private long stageCount(LoginStage stage) {
+        return meterRegistry.get(LoginMetrics.STAGE_TIMER).tag("stage", stage.getTagValue()).timer().count();
     }
 }
@@ -0,0 +1,90 @@
+package de.opengamebackend.auth.controller;
+
+import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.requests.LoginRequest;
+import de.opengamebackend.auth.model.responses.LoginResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends concurrent first logins of the same player through a real server connection, each in its own transaction.
+ *
+ * Runs against the embedded database by default. To check the behavior of MariaDB/InnoDB (e.g. deadlocks caused by
+ * gap locks), point the test to a MariaDB instance:
+ * {@code mvn test -Dtest=ConcurrentLoginIntegrationTests -Dspring.datasource.url=jdbc:mariadb://localhost/auth
+ * -Dspring.datasource.username=... -Dspring.datasource.password=...}
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "de.opengamebackend.auth.login.coalescing.enabled=false",
+                "de.opengamebackend.auth.login.rate-limit.enabled=false"
+        })
+public class ConcurrentLoginIntegrationTests {
+    private static final int LOGINS = 8;
+    private static final int ROUNDS = 10;
+
+    private final TestRestTemplate restTemplate;
+
+    @Autowired
+    public ConcurrentLoginIntegrationTests(TestRestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Test
+    public void givenConcurrentFirstLogins_whenLogin_thenLogInSamePlayer() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(LOGINS);
+
+        try {
+            for (int round = 0; round < ROUNDS; ++round) {
+                // GIVEN
+                LoginRequest request = new LoginRequest();
+                request.setKey(UUID.randomUUID().toString());
+                request.setProvider("");
+                request.setRole(AuthRole.ROLE_USER.name());
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<CompletableFuture<ResponseEntity<LoginResponse>>> responses = new ArrayList<>();
+
+                // WHEN
+                for (int i = 0; i < LOGINS; ++i) {
+                    responses.add(CompletableFuture.supplyAsync(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+
+                        return restTemplate.postForEntity("/login", request, LoginResponse.class);
+                    }, executor));
+                }
+
+                start.countDown();
+
+                // THEN
+                String playerId = responses.get(0).get().getBody().getPlayerId();
+
+                for (CompletableFuture<ResponseEntity<LoginResponse>> response : responses) {
+                    assertThat(response.get().getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.get().getBody().getPlayerId()).isEqualTo(playerId);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
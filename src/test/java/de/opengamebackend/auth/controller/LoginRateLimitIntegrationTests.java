@@ -0,0 +1,73 @@
+package de.opengamebackend.auth.controller;
+
+import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.requests.LoginRequest;
+import de.opengamebackend.auth.model.responses.LoginResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends logins through a real server connection, as if from the gateway, so Tomcat resolves forwarded addresses.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "de.opengamebackend.auth.login.rate-limit.addressBurst=1",
+                "de.opengamebackend.auth.login.rate-limit.addressLoginsPerMinute=1"
+        })
+public class LoginRateLimitIntegrationTests {
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final TestRestTemplate restTemplate;
+
+    @Autowired
+    public LoginRateLimitIntegrationTests(TestRestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Test
+    public void givenLoginsForwardedForDifferentClients_whenLogin_thenLimitEachClient() {
+        // GIVEN
+        login("203.0.113.1");
+
+        // WHEN
+        ResponseEntity<LoginResponse> response = login("203.0.113.2");
+
+        // THEN
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    public void givenLoginForwardedForClient_whenLoginAgain_thenTooManyRequests() {
+        // GIVEN
+        login("203.0.113.3");
+
+        // WHEN
+        ResponseEntity<LoginResponse> response = login("203.0.113.3");
+
+        // THEN
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private ResponseEntity<LoginResponse> login(String client) {
+        LoginRequest request = new LoginRequest();
+        request.setKey(UUID.randomUUID().toString());
+        request.setProvider("");
+        request.setRole(AuthRole.ROLE_USER.name());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(FORWARDED_FOR, client);
+
+        return restTemplate.postForEntity("/login", new HttpEntity<>(request, headers), LoginResponse.class);
+    }
+}
@@ -0,0 +1,99 @@
+package de.opengamebackend.auth.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a large number of players, verifying that memory usage doesn't grow with the number of players.
+ *
+ * Uses its own in-memory database that is dropped along with the context, as deleting all players would take longer
+ * than the export itself. Takes minutes and depends on the garbage collector, so it's excluded from the default build,
+ * e.g. mvn -Pslow-tests test
+ */
+@Tag("slow")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:playerExport")
+@DirtiesContext
+public class PlayerExportTests {
+    private static final int PLAYER_COUNT = 1000000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024L * 1024L;
+
+    private AuthController authController;
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PlayerExportTests(AuthController authController, JdbcTemplate jdbcTemplate) {
+        this.authController = authController;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.execute("INSERT INTO auth_player (id, provider, provider_user_id, locked) " +
+                "SELECT X'0000000000000000' || CAST(X AS BINARY(8)), 'testProvider', CONCAT('user', X), FALSE " +
+                "FROM SYSTEM_RANGE(1, " + PLAYER_COUNT + ")");
+    }
+
+    @Test
+    public void givenMillionPlayers_whenExportPlayers_thenMemoryBounded() throws IOException {
+        // GIVEN
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return out;
+            }
+        };
+
+        // WHEN
+        authController.exportPlayers(false, response);
+
+        // THEN
+        assertThat(out.lines).isEqualTo(PLAYER_COUNT);
+        assertThat(out.maxHeapGrowth).isLessThan(MAX_HEAP_GROWTH_BYTES);
+    }
+
+    /**
+     * Discards all output, counting lines and sampling heap usage every 100,000 lines.
+     */
+    private static class HeapSamplingOutputStream extends ServletOutputStream {
+        private final long baseline = usedHeap();
+
+        private long lines;
+        private long maxHeapGrowth;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % 100000 == 0) {
+                maxHeapGrowth = Math.max(maxHeapGrowth, usedHeap() - baseline);
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+
+        private static long usedHeap() {
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
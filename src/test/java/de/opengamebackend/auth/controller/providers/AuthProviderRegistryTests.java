@@ -0,0 +1,118 @@
+package de.opengamebackend.auth.controller.providers;
+
+import de.opengamebackend.auth.metrics.LoginMetrics;
+import de.opengamebackend.auth.model.responses.GetAuthProvidersResponseProvider;
+import de.opengamebackend.net.ApiErrors;
+import de.opengamebackend.net.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AuthProviderRegistryTests {
+    private static final String TEST_PROVIDER_ID = "testProvider";
+
+    private LoginMetrics loginMetrics;
+
+    @BeforeEach
+    public void setUp() {
+        loginMetrics = new LoginMetrics(new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void givenProvider_whenGetEnabledProvider_thenReturnProvider() {
+        // GIVEN
+        AuthProvider provider = mockProvider(TEST_PROVIDER_ID);
+        AuthProviderRegistry registry = new AuthProviderRegistry(Lists.list(provider), new AuthProvidersConfig(null), loginMetrics);
+
+        // WHEN & THEN
+        assertThat(registry.getEnabledProvider(TEST_PROVIDER_ID)).isSameAs(provider);
+        assertThat(registry.getEnabledProvider("unknownProvider")).isNull();
+        assertThat(registry.getEnabledProvider(null)).isNull();
+    }
+
+    @Test
+    public void givenDuplicateProviderIds_whenCreateRegistry_thenThrowException() {
+        // GIVEN
+        List<AuthProvider> providers = Lists.list(mockProvider(TEST_PROVIDER_ID), mockProvider(TEST_PROVIDER_ID));
+
+        // WHEN & THEN
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> new AuthProviderRegistry(providers, new AuthProvidersConfig(null), loginMetrics));
+    }
+
+    @Test
+    public void givenUnknownDisabledProvider_whenCreateRegistry_thenThrowException() {
+        // GIVEN
+        List<AuthProvider> providers = Lists.list(mockProvider(TEST_PROVIDER_ID));
+        AuthProvidersConfig config = new AuthProvidersConfig(Lists.list("unknownProvider"));
+
+        // WHEN & THEN
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> new AuthProviderRegistry(providers, config, loginMetrics));
+    }
+
+    @Test
+    public void givenDisabledProvider_whenGetEnabledProvider_thenReturnNull() throws ApiException {
+        // GIVEN
+        AuthProvider provider = mockProvider(TEST_PROVIDER_ID);
+        AuthProviderRegistry registry = new AuthProviderRegistry(Lists.list(provider), new AuthProvidersConfig(null), loginMetrics);
+        registry.setEnabled(TEST_PROVIDER_ID, false);
+
+        // WHEN
+        AuthProvider enabledProvider = registry.getEnabledProvider(TEST_PROVIDER_ID);
+
+        // THEN
+        assertThat(enabledProvider).isNull();
+        assertThat(registry.getProviders().get(0).isEnabled()).isFalse();
+        assertThat(registry.getProviders().get(0).getRejectedLogins()).isEqualTo(1L);
+    }
+
+    @Test
+    public void givenUnknownProvider_whenSetEnabled_thenThrowException() {
+        // GIVEN
+        AuthProviderRegistry registry =
+                new AuthProviderRegistry(Lists.list(mockProvider(TEST_PROVIDER_ID)), new AuthProvidersConfig(null), loginMetrics);
+
+        // WHEN & THEN
+        assertThatExceptionOfType(ApiException.class)
+                .isThrownBy(() -> registry.setEnabled("unknownProvider", false))
+                .withMessage(ApiErrors.UNKNOWN_AUTH_PROVIDER_MESSAGE);
+    }
+
+    @Test
+    public void givenAuthentications_whenGetProviders_thenReturnStatistics() {
+        // GIVEN
+        AuthProviderRegistry registry =
+                new AuthProviderRegistry(Lists.list(mockProvider(TEST_PROVIDER_ID)), new AuthProvidersConfig(null), loginMetrics);
+
+        long now = System.nanoTime();
+        loginMetrics.recordAuthentication(TEST_PROVIDER_ID, true, now - 2_000_000L);
+        loginMetrics.recordAuthentication(TEST_PROVIDER_ID, true, now - 4_000_000L);
+        loginMetrics.recordAuthentication(TEST_PROVIDER_ID, false, now - 6_000_000L);
+
+        // WHEN
+        List<GetAuthProvidersResponseProvider> providers = registry.getProviders();
+
+        // THEN
+        assertThat(providers).hasSize(1);
+        assertThat(providers.get(0).getId()).isEqualTo(TEST_PROVIDER_ID);
+        assertThat(providers.get(0).isEnabled()).isTrue();
+        assertThat(providers.get(0).getSuccessfulLogins()).isEqualTo(2L);
+        assertThat(providers.get(0).getFailedLogins()).isEqualTo(1L);
+        assertThat(providers.get(0).getAverageAuthenticationMs()).isGreaterThanOrEqualTo(4L);
+    }
+
+    private AuthProvider mockProvider(String id) {
+        AuthProvider provider = mock(AuthProvider.class);
+        when(provider.getId()).thenReturn(id);
+        return provider;
+    }
+}
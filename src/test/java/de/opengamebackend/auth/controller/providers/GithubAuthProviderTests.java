@@ -0,0 +1,113 @@
+package de.opengamebackend.auth.controller.providers;
+
+import de.opengamebackend.auth.concurrent.VirtualThreadsConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class GithubAuthProviderTests {
+    private GithubStubServer server;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        server = new GithubStubServer();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        server.close();
+    }
+
+    @Test
+    public void givenGithub_whenAuthenticate_thenReturnLogin() throws IOException {
+        // GIVEN
+        GithubAuthProvider provider = new GithubAuthProvider(server.createConfig(1000), new VirtualThreadsConfig(false));
+
+        // WHEN
+        String userId = provider.authenticate("testCode", "testState");
+
+        // THEN
+        assertThat(userId).isEqualTo(GithubStubServer.LOGIN);
+
+        provider.close();
+    }
+
+    @Test
+    public void givenGithub_whenAuthenticateAsync_thenReturnLogin() throws Exception {
+        // GIVEN
+        GithubAuthProvider provider = new GithubAuthProvider(server.createConfig(1000), new VirtualThreadsConfig(false));
+
+        // WHEN
+        String userId = provider.authenticateAsync("testCode", "testState").get(5, TimeUnit.SECONDS);
+
+        // THEN
+        assertThat(userId).isEqualTo(GithubStubServer.LOGIN);
+
+        provider.close();
+    }
+
+    @Test
+    public void givenLoginQueueFull_whenAuthenticateAsync_thenFailWithOverload() throws IOException {
+        // GIVEN
+        GithubAuthProvider provider = new GithubAuthProvider(server.createConfig(5000, 1, 1),
+                new VirtualThreadsConfig(false));
+        server.setResponseDelayMs(1000);
+
+        provider.authenticateAsync("testCode", "testState");
+        provider.authenticateAsync("testCode", "testState");
+
+        // WHEN
+        CompletableFuture<String> userId = provider.authenticateAsync("testCode", "testState");
+
+        // THEN
+        assertThatExceptionOfType(CompletionException.class)
+                .isThrownBy(userId::join)
+                .withCauseInstanceOf(ProviderOverloadedException.class);
+
+        provider.close();
+    }
+
+    @Test
+    public void givenSequentialLogins_whenAuthenticate_thenReuseConnection() throws IOException {
+        // GIVEN
+        GithubAuthProvider provider = new GithubAuthProvider(server.createConfig(1000), new VirtualThreadsConfig(false));
+
+        // WHEN
+        for (int i = 0; i < 20; ++i) {
+            provider.authenticate("testCode", "testState");
+        }
+
+        // THEN
+        assertThat(server.getConnectionCount()).isEqualTo(1);
+
+        provider.close();
+    }
+
+    @Test
+    public void givenSlowGithub_whenAuthenticate_thenTimeout() throws IOException {
+        // GIVEN
+        GithubAuthProvider provider = new GithubAuthProvider(server.createConfig(100), new VirtualThreadsConfig(false));
+        server.setResponseDelayMs(1000);
+
+        // WHEN
+        long start = System.nanoTime();
+
+        assertThatExceptionOfType(ResourceAccessException.class)
+                .isThrownBy(() -> provider.authenticate("testCode", "testState"));
+
+        // THEN
+        long elapsedMs = (System.nanoTime() - start) / 1000000L;
+        assertThat(elapsedMs).isLessThan(1000);
+
+        provider.close();
+    }
+}
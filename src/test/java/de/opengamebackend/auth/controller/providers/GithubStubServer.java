@@ -0,0 +1,88 @@
+package de.opengamebackend.auth.controller.providers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the GitHub OAuth2 and user APIs, keeping track of the client connections it has seen.
+ */
+public class GithubStubServer implements AutoCloseable {
+    public static final String LOGIN = "octocat";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    private volatile long responseDelayMs;
+
+    static {
+        // Avoid Nagle's algorithm delaying responses on kept-alive connections, which would hide the cost of handshakes.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    public GithubStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/login/oauth/access_token",
+                exchange -> respond(exchange, "{\"access_token\":\"testAccessToken\",\"token_type\":\"bearer\"}"));
+        server.createContext("/user", exchange -> respond(exchange, "{\"login\":\"" + LOGIN + "\"}"));
+
+        executor = Executors.newFixedThreadPool(16);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public GithubAuthProviderConfig createConfig(int readTimeoutMs) {
+        return createConfig(readTimeoutMs, 10, 100);
+    }
+
+    public GithubAuthProviderConfig createConfig(int readTimeoutMs, int maxConcurrentLogins, int loginQueueCapacity) {
+        String baseUri = "http://localhost:" + server.getAddress().getPort();
+        return new GithubAuthProviderConfig("testClientId", "testClientSecret", "http://localhost/login",
+                baseUri + "/login/oauth/access_token", baseUri + "/user",
+                1000, readTimeoutMs, 1000, 20, 10, 30000, maxConcurrentLogins, loginQueueCapacity);
+    }
+
+    public int getConnectionCount() {
+        return clientPorts.size();
+    }
+
+    public void setResponseDelayMs(long responseDelayMs) {
+        this.responseDelayMs = responseDelayMs;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+
+        if (responseDelayMs > 0) {
+            try {
+                Thread.sleep(responseDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
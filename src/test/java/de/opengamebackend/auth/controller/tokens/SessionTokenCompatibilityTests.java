@@ -0,0 +1,81 @@
+package de.opengamebackend.auth.controller.tokens;
+
+import de.opengamebackend.auth.client.SessionToken;
+import de.opengamebackend.auth.client.SessionTokenVerifier;
+import de.opengamebackend.auth.model.responses.LoginResponse;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that tokens issued by this service can be verified by the auth client other services use.
+ */
+public class SessionTokenCompatibilityTests {
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "testSecretWithEnoughBytesForHmac".getBytes(StandardCharsets.UTF_8));
+
+    private SessionTokenIssuer sessionTokenIssuer;
+    private SessionTokenVerifier sessionTokenVerifier;
+
+    @BeforeEach
+    public void setUp() {
+        sessionTokenIssuer = new SessionTokenIssuer(new SessionTokenConfig(SECRET, 60));
+        sessionTokenVerifier = new SessionTokenVerifier(SECRET);
+    }
+
+    @Test
+    public void givenIssuedToken_whenVerify_thenReturnPlayer() {
+        // GIVEN
+        LoginResponse loginResponse = new LoginResponse("testPlayerId", Lists.list("ROLE_USER", "ROLE_ADMIN"));
+        loginResponse.setLocked(true);
+
+        long now = System.currentTimeMillis() / 1000L;
+        String token = sessionTokenIssuer.issueToken(loginResponse);
+
+        // WHEN
+        SessionToken sessionToken = sessionTokenVerifier.verify(token);
+
+        // THEN
+        assertThat(sessionToken).isNotNull();
+        assertThat(sessionToken.getPlayerId()).isEqualTo("testPlayerId");
+        assertThat(sessionToken.getRoles()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(sessionToken.isLocked()).isTrue();
+        assertThat(sessionToken.getExpiresAt()).isBetween(now + 60, now + 61);
+    }
+
+    @Test
+    public void givenIssuedTokenWithoutRoles_whenVerify_thenReturnNoRoles() {
+        // GIVEN
+        LoginResponse loginResponse = new LoginResponse("testPlayerId", Lists.list());
+        String token = sessionTokenIssuer.issueToken(loginResponse);
+
+        // WHEN
+        SessionToken sessionToken = sessionTokenVerifier.verify(token);
+
+        // THEN
+        assertThat(sessionToken).isNotNull();
+        assertThat(sessionToken.getRoles()).isEmpty();
+        assertThat(sessionToken.isLocked()).isFalse();
+    }
+
+    @Test
+    public void givenTokenIssuedWithOtherSecret_whenVerify_thenReturnNull() {
+        // GIVEN
+        String otherSecret = Base64.getEncoder().encodeToString(
+                "otherSecretWithEnoughBytesForHmac".getBytes(StandardCharsets.UTF_8));
+        sessionTokenIssuer = new SessionTokenIssuer(new SessionTokenConfig(otherSecret, 60));
+
+        String token = sessionTokenIssuer.issueToken(new LoginResponse("testPlayerId", Lists.list("ROLE_USER")));
+
+        // WHEN
+        SessionToken sessionToken = sessionTokenVerifier.verify(token);
+
+        // THEN
+        assertThat(sessionToken).isNull();
+    }
+}
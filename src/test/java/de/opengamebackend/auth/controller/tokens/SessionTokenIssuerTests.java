@@ -0,0 +1,83 @@
+package de.opengamebackend.auth.controller.tokens;
+
+import de.opengamebackend.auth.model.responses.LoginResponse;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SessionTokenIssuerTests {
+    private static final byte[] SECRET = "testSecretWithEnoughBytesForHmac".getBytes(StandardCharsets.UTF_8);
+
+    private SessionTokenIssuer sessionTokenIssuer;
+
+    @BeforeEach
+    public void setUp() {
+        SessionTokenConfig config = new SessionTokenConfig(Base64.getEncoder().encodeToString(SECRET), 60);
+        sessionTokenIssuer = new SessionTokenIssuer(config);
+    }
+
+    @Test
+    public void givenLogin_whenIssueToken_thenTokenContainsPlayer() {
+        // GIVEN
+        LoginResponse loginResponse = new LoginResponse("testPlayerId", Lists.list("ROLE_USER", "ROLE_ADMIN"));
+        loginResponse.setLocked(true);
+
+        // WHEN
+        String token = sessionTokenIssuer.issueToken(loginResponse);
+
+        // THEN
+        String[] payload = decodePayload(token).split("\n");
+
+        assertThat(payload).hasSize(5);
+        assertThat(payload[0]).isEqualTo(SessionTokenIssuer.VERSION);
+        assertThat(payload[1]).isEqualTo("testPlayerId");
+        assertThat(payload[2]).isEqualTo("ROLE_USER,ROLE_ADMIN");
+        assertThat(payload[3]).isEqualTo("1");
+        assertThat(Long.parseLong(payload[4])).isBetween(
+                System.currentTimeMillis() / 1000L + 50, System.currentTimeMillis() / 1000L + 60);
+    }
+
+    @Test
+    public void givenLogin_whenIssueToken_thenTokenIsSigned() throws Exception {
+        // GIVEN
+        LoginResponse loginResponse = new LoginResponse("testPlayerId", Lists.list("ROLE_USER"));
+
+        // WHEN
+        String token = sessionTokenIssuer.issueToken(loginResponse);
+
+        // THEN
+        String[] parts = token.split("\\.");
+        assertThat(parts).hasSize(2);
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+        byte[] expectedSignature = mac.doFinal(Base64.getUrlDecoder().decode(parts[0]));
+
+        assertThat(Base64.getUrlDecoder().decode(parts[1])).isEqualTo(expectedSignature);
+    }
+
+    @Test
+    public void givenNoSecret_whenIssueToken_thenIssueToken() {
+        // GIVEN
+        sessionTokenIssuer = new SessionTokenIssuer(new SessionTokenConfig(null, 60));
+        LoginResponse loginResponse = new LoginResponse("testPlayerId", Lists.list("ROLE_USER"));
+
+        // WHEN
+        String token = sessionTokenIssuer.issueToken(loginResponse);
+
+        // THEN
+        assertThat(decodePayload(token)).contains("testPlayerId");
+    }
+
+    private String decodePayload(String token) {
+        String payload = token.substring(0, token.indexOf('.'));
+        return new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+package de.opengamebackend.auth.invalidation;
+
+import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.PlayerCache;
+import de.opengamebackend.auth.model.PlayerCacheConfig;
+import de.opengamebackend.auth.model.PlayerSnapshot;
+import de.opengamebackend.auth.model.SecretKeyIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class CacheInvalidatorTests {
+    private PlayerCache localPlayerCache;
+    private SecretKeyIndex localSecretKeyIndex;
+    private CacheInvalidator localInvalidator;
+
+    private PlayerCache remotePlayerCache;
+    private SecretKeyIndex remoteSecretKeyIndex;
+    private CacheInvalidator remoteInvalidator;
+
+    @BeforeEach
+    public void setUp() {
+        // Simulate two replicas sharing the same channel.
+        LoopbackInvalidationChannel invalidationChannel = new LoopbackInvalidationChannel();
+        InvalidationConfig config = new InvalidationConfig("loopback", 1000, 60000, 3600, 30, 1000, 1);
+
+        localPlayerCache = new PlayerCache(new PlayerCacheConfig(true, 100, 60), new SimpleMeterRegistry());
+        localSecretKeyIndex = mock(SecretKeyIndex.class);
+        localInvalidator = new CacheInvalidator(invalidationChannel, localPlayerCache, localSecretKeyIndex, config);
+        localInvalidator.postConstruct();
+
+        remotePlayerCache = new PlayerCache(new PlayerCacheConfig(true, 100, 60), new SimpleMeterRegistry());
+        remoteSecretKeyIndex = mock(SecretKeyIndex.class);
+        remoteInvalidator = new CacheInvalidator(invalidationChannel, remotePlayerCache, remoteSecretKeyIndex, config);
+        remoteInvalidator.postConstruct();
+    }
+
+    @Test
+    public void givenPlayerCachedByAllReplicas_whenPlayerChanged_thenEvictPlayerEverywhere() {
+        // GIVEN
+        localPlayerCache.put(createPlayer(), localPlayerCache.stamp());
+        remotePlayerCache.put(createPlayer(), remotePlayerCache.stamp());
+
+        // WHEN
+        localInvalidator.playerChanged("testProvider", "testProviderUserId");
+
+        // THEN
+        assertThat(localPlayerCache.get("testProvider", "testProviderUserId")).isNull();
+        assertThat(remotePlayerCache.get("testProvider", "testProviderUserId")).isNull();
+    }
+
+    @Test
+    public void givenOtherPlayerCached_whenPlayerChanged_thenKeepOtherPlayer() {
+        // GIVEN
+        remotePlayerCache.put(createPlayer(), remotePlayerCache.stamp());
+
+        // WHEN
+        localInvalidator.playerChanged("testProvider", "otherProviderUserId");
+
+        // THEN
+        assertThat(remotePlayerCache.get("testProvider", "testProviderUserId")).isNotNull();
+    }
+
+    @Test
+    public void givenFewPlayersChanged_whenPlayersChanged_thenEvictOnlyThesePlayers() {
+        // GIVEN
+        remotePlayerCache.put(createPlayer(), remotePlayerCache.stamp());
+
+        // WHEN
+        localInvalidator.playersChanged("testProvider", Lists.list("otherProviderUserId"));
+
+        // THEN
+        assertThat(remotePlayerCache.get("testProvider", "testProviderUserId")).isNotNull();
+    }
+
+    @Test
+    public void givenManyPlayersChanged_whenPlayersChanged_thenEvictAllPlayersEverywhere() {
+        // GIVEN
+        localPlayerCache.put(createPlayer(), localPlayerCache.stamp());
+        remotePlayerCache.put(createPlayer(), remotePlayerCache.stamp());
+
+        // WHEN
+        localInvalidator.playersChanged("testProvider", Lists.list("otherProviderUserId1", "otherProviderUserId2"));
+
+        // THEN
+        assertThat(localPlayerCache.get("testProvider", "testProviderUserId")).isNull();
+        assertThat(remotePlayerCache.get("testProvider", "testProviderUserId")).isNull();
+    }
+
+    @Test
+    public void whenSecretKeysChanged_thenReloadSecretKeysOfOtherReplicas() {
+        // WHEN
+        localInvalidator.secretKeysChanged();
+
+        // THEN
+        verify(remoteSecretKeyIndex).reload();
+        verify(localSecretKeyIndex, never()).reload();
+    }
+
+    @Test
+    public void whenEventsLost_thenEvictEverything() {
+        // GIVEN
+        remotePlayerCache.put(createPlayer(), remotePlayerCache.stamp());
+
+        // WHEN
+        remoteInvalidator.onEventsLost();
+
+        // THEN
+        assertThat(remotePlayerCache.get("testProvider", "testProviderUserId")).isNull();
+        verify(remoteSecretKeyIndex).reload();
+    }
+
+    private PlayerSnapshot createPlayer() {
+        return new PlayerSnapshot("testPlayerId", "testProvider", "testProviderUserId",
+                Lists.list(AuthRole.ROLE_USER.name()), false);
+    }
+}
@@ -0,0 +1,154 @@
+package de.opengamebackend.auth.invalidation;
+
+import de.opengamebackend.auth.model.repositories.InvalidationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class DatabaseInvalidationChannelTests {
+    private TestEntityManager entityManager;
+    private InvalidationRepository invalidationRepository;
+
+    private AtomicLong clock;
+    private InvalidationListener listener;
+    private DatabaseInvalidationChannel channel;
+
+    @Autowired
+    public DatabaseInvalidationChannelTests(TestEntityManager entityManager,
+                                            InvalidationRepository invalidationRepository) {
+        this.entityManager = entityManager;
+        this.invalidationRepository = invalidationRepository;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        clock = new AtomicLong(System.currentTimeMillis());
+        listener = mock(InvalidationListener.class);
+
+        channel = new DatabaseInvalidationChannel(invalidationRepository,
+                new InvalidationConfig("database", 1000, 60000, 3600, 30, 100, 100), clock::get);
+        channel.postConstruct();
+        channel.subscribe(listener);
+    }
+
+    @Test
+    public void givenPublishedEvents_whenPoll_thenDeliverEventsInOrder() {
+        // GIVEN
+        channel.publish(InvalidationEvent.player("testOrigin", "testProvider", "testProviderUserId"));
+        channel.publish(InvalidationEvent.secretKeys("testOrigin"));
+
+        // WHEN
+        channel.poll();
+
+        // THEN
+        ArgumentCaptor<InvalidationEvent> argumentCaptor = ArgumentCaptor.forClass(InvalidationEvent.class);
+        verify(listener, times(2)).onInvalidation(argumentCaptor.capture());
+
+        List<InvalidationEvent> events = argumentCaptor.getAllValues();
+
+        assertThat(events.get(0).getOrigin()).isEqualTo("testOrigin");
+        assertThat(events.get(0).getType()).isEqualTo(InvalidationType.PLAYER);
+        assertThat(events.get(0).getProvider()).isEqualTo("testProvider");
+        assertThat(events.get(0).getProviderUserId()).isEqualTo("testProviderUserId");
+        assertThat(events.get(1).getType()).isEqualTo(InvalidationType.SECRET_KEYS);
+        assertThat(events.get(1).getVersion()).isGreaterThan(events.get(0).getVersion());
+    }
+
+    @Test
+    public void givenDeliveredEvents_whenPollAgain_thenDontDeliverAgain() {
+        // GIVEN
+        channel.publish(InvalidationEvent.secretKeys("testOrigin"));
+        channel.poll();
+
+        // WHEN
+        channel.poll();
+
+        // THEN
+        verify(listener, times(1)).onInvalidation(any());
+    }
+
+    @Test
+    public void givenEventCommittedOutOfOrder_whenPoll_thenDeliverSkippedEvent() {
+        // GIVEN
+        long version = invalidationRepository.findMaxId();
+        insertEvent(version + 2);
+        channel.poll();
+
+        insertEvent(version + 1);
+
+        // WHEN
+        channel.poll();
+
+        // THEN
+        ArgumentCaptor<InvalidationEvent> argumentCaptor = ArgumentCaptor.forClass(InvalidationEvent.class);
+        verify(listener, times(2)).onInvalidation(argumentCaptor.capture());
+
+        assertThat(argumentCaptor.getAllValues().get(0).getVersion()).isEqualTo(version + 2);
+        assertThat(argumentCaptor.getAllValues().get(1).getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    public void givenNoPollForLongerThanRetention_whenPoll_thenNotifyEventsLost() {
+        // GIVEN
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(3601));
+
+        // WHEN
+        channel.poll();
+
+        // THEN
+        verify(listener).onEventsLost();
+    }
+
+    @Test
+    public void givenOldEvents_whenPrune_thenRemoveOldEvents() {
+        // GIVEN
+        channel.publish(InvalidationEvent.secretKeys("testOrigin"));
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(3601));
+        channel.publish(InvalidationEvent.secretKeys("testOrigin"));
+
+        // WHEN
+        channel.prune();
+
+        // THEN
+        assertThat(invalidationRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenConfigureTasks_thenSchedulePollAndPruneWithConfiguredIntervals() {
+        // GIVEN
+        ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+
+        // WHEN
+        channel.configureTasks(taskRegistrar);
+
+        // THEN
+        assertThat(taskRegistrar.getFixedDelayTaskList()).hasSize(2);
+        assertThat(taskRegistrar.getFixedDelayTaskList().get(0).getInterval()).isEqualTo(1000L);
+        assertThat(taskRegistrar.getFixedDelayTaskList().get(1).getInterval()).isEqualTo(60000L);
+    }
+
+    private void insertEvent(long id) {
+        entityManager.getEntityManager()
+                .createNativeQuery("INSERT INTO auth_invalidation (id, origin, type, created) VALUES (?1, ?2, ?3, ?4)")
+                .setParameter(1, id)
+                .setParameter(2, "testOrigin")
+                .setParameter(3, InvalidationType.SECRET_KEYS.name())
+                .setParameter(4, new Timestamp(clock.get()))
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,135 @@
+package de.opengamebackend.auth.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RingBufferAppenderTests {
+    private LoggerContext context;
+    private Logger logger;
+    private RingBufferAppender appender;
+
+    @BeforeEach
+    public void setUp() {
+        context = new LoggerContext();
+        logger = context.getLogger(RingBufferAppenderTests.class);
+
+        appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("test");
+    }
+
+    @Test
+    public void givenSync_whenAppend_thenWriteOnCallingThread() {
+        // GIVEN
+        ListAppender<ILoggingEvent> target = startListAppender();
+        appender.addAppender(target);
+        appender.start();
+
+        // WHEN
+        appender.doAppend(createEvent(Level.INFO, "testMessage"));
+
+        // THEN
+        assertThat(target.list).hasSize(1);
+        assertThat(appender.getQueueCapacity()).isEqualTo(0);
+    }
+
+    @Test
+    public void givenAsync_whenStop_thenWriteAllEvents() {
+        // GIVEN
+        ListAppender<ILoggingEvent> target = startListAppender();
+        appender.addAppender(target);
+        appender.setAsync(true);
+        appender.start();
+
+        for (int i = 0; i < 1000; ++i) {
+            appender.doAppend(createEvent(Level.INFO, "testMessage" + i));
+        }
+
+        // WHEN
+        appender.stop();
+
+        // THEN
+        assertThat(target.list).hasSize(1000);
+        assertThat(target.list.get(999).getFormattedMessage()).isEqualTo("testMessage999");
+    }
+
+    @Test
+    public void givenFullBuffer_whenAppend_thenDropEventsBelowBlockingLevel() throws Exception {
+        // GIVEN
+        BlockingAppender target = new BlockingAppender();
+        target.setContext(context);
+        target.start();
+
+        appender.addAppender(target);
+        appender.setAsync(true);
+        appender.setBufferSize(2);
+        appender.setBlockingLevel(Level.WARN);
+        appender.setMaxBlockMillis(10);
+        appender.start();
+
+        // Keep the worker busy with the first event, and fill the buffer.
+        appender.doAppend(createEvent(Level.INFO, "first"));
+        assertThat(target.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        appender.doAppend(createEvent(Level.INFO, "second"));
+        appender.doAppend(createEvent(Level.INFO, "third"));
+
+        // WHEN
+        appender.doAppend(createEvent(Level.INFO, "dropped"));
+        appender.doAppend(createEvent(Level.ERROR, "timedOut"));
+
+        // THEN
+        assertThat(appender.getQueueSize()).isEqualTo(2);
+        assertThat(appender.getDropped(Level.INFO)).isEqualTo(1);
+        assertThat(appender.getDropped(Level.ERROR)).isEqualTo(1);
+
+        target.release.countDown();
+        appender.stop();
+
+        assertThat(target.messages).containsExactly("first", "second", "third");
+    }
+
+    private ListAppender<ILoggingEvent> startListAppender() {
+        ListAppender<ILoggingEvent> target = new ListAppender<>();
+        target.setContext(context);
+        target.start();
+        return target;
+    }
+
+    private LoggingEvent createEvent(Level level, String message) {
+        return new LoggingEvent(Logger.class.getName(), logger, level, message, null, null);
+    }
+
+    private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            writing.countDown();
+
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            messages.add(event.getFormattedMessage());
+        }
+    }
+}
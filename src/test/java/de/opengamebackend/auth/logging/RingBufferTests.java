@@ -0,0 +1,87 @@
+package de.opengamebackend.auth.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RingBufferTests {
+    @Test
+    public void givenElements_whenPoll_thenReturnInOrder() {
+        // GIVEN
+        RingBuffer<String> buffer = new RingBuffer<>(4);
+        buffer.offer("a");
+        buffer.offer("b");
+
+        // WHEN & THEN
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(buffer.poll()).isEqualTo("a");
+        assertThat(buffer.poll()).isEqualTo("b");
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    public void givenFullBuffer_whenOffer_thenReject() {
+        // GIVEN
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+        buffer.offer("a");
+        buffer.offer("b");
+
+        // WHEN & THEN
+        assertThat(buffer.offer("c")).isFalse();
+
+        buffer.poll();
+        assertThat(buffer.offer("c")).isTrue();
+    }
+
+    @Test
+    public void givenCapacity_whenCreate_thenRoundUpToPowerOfTwo() {
+        // WHEN & THEN
+        assertThat(new RingBuffer<>(5).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    public void givenConcurrentProducers_whenPoll_thenReceiveEveryElementOnce() throws Exception {
+        // GIVEN
+        int producers = 4;
+        int elementsPerProducer = 20_000;
+
+        RingBuffer<Integer> buffer = new RingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        // WHEN
+        for (int p = 0; p < producers; ++p) {
+            int offset = p * elementsPerProducer;
+
+            executor.execute(() -> {
+                for (int i = 0; i < elementsPerProducer; ++i) {
+                    while (!buffer.offer(offset + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+
+        Set<Integer> received = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (received.size() < producers * elementsPerProducer && System.nanoTime() < deadline) {
+            Integer element = buffer.poll();
+
+            if (element != null) {
+                assertThat(received.add(element)).isTrue();
+            }
+        }
+
+        executor.shutdown();
+
+        // THEN
+        assertThat(received).hasSize(producers * elementsPerProducer);
+        assertThat(buffer.poll()).isNull();
+    }
+}
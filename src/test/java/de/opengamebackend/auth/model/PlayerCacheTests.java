@@ -0,0 +1,128 @@
+package de.opengamebackend.auth.model;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PlayerCacheTests {
+    private MeterRegistry meterRegistry;
+    private PlayerCache playerCache;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        playerCache = new PlayerCache(new PlayerCacheConfig(true, 100, 60), meterRegistry);
+    }
+
+    @Test
+    public void givenPlayer_whenPut_thenGetPlayer() {
+        // GIVEN
+        PlayerSnapshot player = createPlayer();
+
+        // WHEN
+        playerCache.put(player, playerCache.stamp());
+
+        // THEN
+        assertThat(playerCache.get("testProvider", "testProviderUserId")).isSameAs(player);
+        assertThat(playerCache.get("testProvider", "otherProviderUserId")).isNull();
+    }
+
+    @Test
+    public void givenInvalidationSinceStamp_whenPut_thenDoNotCachePlayer() {
+        // GIVEN
+        long stamp = playerCache.stamp();
+        playerCache.invalidate("testProvider", "otherProviderUserId");
+
+        // WHEN
+        playerCache.put(createPlayer(), stamp);
+
+        // THEN
+        assertThat(playerCache.get("testProvider", "testProviderUserId")).isNull();
+    }
+
+    @Test
+    public void givenConcurrentInvalidation_whenPut_thenNeverKeepStalePlayer() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        for (int i = 0; i < 10_000; ++i) {
+            // GIVEN
+            long stamp = playerCache.stamp();
+            CyclicBarrier start = new CyclicBarrier(2);
+
+            // WHEN
+            Future<?> put = executor.submit(() -> {
+                start.await();
+                playerCache.put(createPlayer(), stamp);
+                return null;
+            });
+            Future<?> invalidate = executor.submit(() -> {
+                start.await();
+                playerCache.invalidate("testProvider", "testProviderUserId");
+                return null;
+            });
+
+            put.get(5, TimeUnit.SECONDS);
+            invalidate.get(5, TimeUnit.SECONDS);
+
+            // THEN
+            assertThat(playerCache.get("testProvider", "testProviderUserId")).isNull();
+        }
+
+        executor.shutdown();
+    }
+
+    @Test
+    public void givenCachedPlayer_whenInvalidate_thenRemovePlayer() {
+        // GIVEN
+        playerCache.put(createPlayer(), playerCache.stamp());
+
+        // WHEN
+        playerCache.invalidate("testProvider", "testProviderUserId");
+
+        // THEN
+        assertThat(playerCache.get("testProvider", "testProviderUserId")).isNull();
+    }
+
+    @Test
+    public void givenDisabled_whenPut_thenDoNotCachePlayer() {
+        // GIVEN
+        playerCache = new PlayerCache(new PlayerCacheConfig(false, 100, 60), meterRegistry);
+
+        // WHEN
+        playerCache.put(createPlayer(), playerCache.stamp());
+
+        // THEN
+        assertThat(playerCache.get("testProvider", "testProviderUserId")).isNull();
+    }
+
+    @Test
+    public void whenGet_thenRecordHitsAndMisses() {
+        // GIVEN
+        playerCache.put(createPlayer(), playerCache.stamp());
+
+        // WHEN
+        playerCache.get("testProvider", "testProviderUserId");
+        playerCache.get("testProvider", "otherProviderUserId");
+
+        // THEN
+        assertThat(meterRegistry.get("cache.gets").tag("cache", PlayerCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", PlayerCache.CACHE_NAME).tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private PlayerSnapshot createPlayer() {
+        return new PlayerSnapshot("testPlayerId", "testProvider", "testProviderUserId",
+                Lists.list(AuthRole.ROLE_USER.name()), false);
+    }
+}
@@ -0,0 +1,91 @@
+package de.opengamebackend.auth.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class PlayerIdsTests {
+    @Test
+    public void whenGenerate_thenReturnVersion7Uuid() {
+        // WHEN
+        UUID id = UUID.fromString(PlayerIds.generate());
+
+        // THEN
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    public void whenGenerate_thenEncodeTimestamp() {
+        // GIVEN
+        long now = System.currentTimeMillis() + 1000;
+
+        // WHEN
+        UUID id = PlayerIds.generate(now);
+
+        // THEN
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(now);
+    }
+
+    @Test
+    public void givenSameMillisecond_whenGenerate_thenReturnIncreasingIds() {
+        // GIVEN
+        long now = 1_600_000_000_000L;
+        UUID previous = PlayerIds.generate(now);
+
+        for (int i = 0; i < 10_000; ++i) {
+            // WHEN
+            UUID next = PlayerIds.generate(now);
+
+            // THEN
+            assertThat(next.getMostSignificantBits()).isGreaterThan(previous.getMostSignificantBits());
+            previous = next;
+        }
+    }
+
+    @Test
+    public void givenClockMovedBackwards_whenGenerate_thenReturnIncreasingIds() {
+        // GIVEN
+        UUID previous = PlayerIds.generate(1_600_000_000_001L);
+
+        // WHEN
+        UUID next = PlayerIds.generate(1_600_000_000_000L);
+
+        // THEN
+        assertThat(next.getMostSignificantBits()).isGreaterThan(previous.getMostSignificantBits());
+    }
+
+    @Test
+    public void givenId_whenToBytes_thenReturnBigEndianBytes() {
+        // GIVEN
+        UUID id = UUID.randomUUID();
+
+        // WHEN
+        byte[] bytes = PlayerIds.toBytes(id.toString());
+
+        // THEN
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        assertThat(bytes).hasSize(PlayerIds.BYTES);
+        assertThat(buffer.getLong()).isEqualTo(id.getMostSignificantBits());
+        assertThat(buffer.getLong()).isEqualTo(id.getLeastSignificantBits());
+    }
+
+    @Test
+    public void givenInvalidId_whenToBytes_thenThrowException() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> PlayerIds.toBytes("player1"));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> PlayerIds.toBytes("1-1-1-1-1"));
+    }
+
+    @Test
+    public void whenIsValid_thenAcceptOnlyUuids() {
+        assertThat(PlayerIds.isValid(PlayerIds.generate())).isTrue();
+        assertThat(PlayerIds.isValid(PlayerIds.MIN)).isTrue();
+        assertThat(PlayerIds.isValid("player1")).isFalse();
+        assertThat(PlayerIds.isValid(null)).isFalse();
+    }
+}
@@ -0,0 +1,56 @@
+package de.opengamebackend.auth.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RoleMaskTests {
+    @Test
+    public void givenRoles_whenOf_thenReturnDistinctBits() {
+        // WHEN
+        int admin = RoleMask.of(AuthRole.ROLE_ADMIN);
+        int server = RoleMask.of(AuthRole.ROLE_SERVER);
+        int user = RoleMask.of(AuthRole.ROLE_USER);
+
+        // THEN
+        assertThat(Integer.bitCount(admin | server | user)).isEqualTo(3);
+    }
+
+    @Test
+    public void givenRoleName_whenOf_thenReturnBitOfRole() {
+        assertThat(RoleMask.of(AuthRole.ROLE_USER.name())).isEqualTo(RoleMask.of(AuthRole.ROLE_USER));
+        assertThat(RoleMask.of("testRole")).isZero();
+    }
+
+    @Test
+    public void givenMask_whenNames_thenReturnNamesOfRolesInMask() {
+        // GIVEN
+        int mask = RoleMask.of(AuthRole.ROLE_USER) | RoleMask.of(AuthRole.ROLE_ADMIN);
+
+        // WHEN
+        List<String> names = RoleMask.names(mask);
+
+        // THEN
+        assertThat(names).containsExactly(AuthRole.ROLE_ADMIN.name(), AuthRole.ROLE_USER.name());
+    }
+
+    @Test
+    public void givenEmptyMask_whenNames_thenReturnEmptyList() {
+        assertThat(RoleMask.names(0)).isEmpty();
+    }
+
+    @Test
+    public void givenRole_whenContaining_thenReturnAllMasksWithBit() {
+        // GIVEN
+        int bit = RoleMask.of(AuthRole.ROLE_SERVER);
+
+        // WHEN
+        List<Integer> masks = RoleMask.containing(AuthRole.ROLE_SERVER);
+
+        // THEN
+        assertThat(masks).hasSize(4);
+        assertThat(masks).allMatch(mask -> (mask & bit) != 0);
+    }
+}
@@ -0,0 +1,53 @@
+package de.opengamebackend.auth.model;
+
+import de.opengamebackend.auth.model.entities.Role;
+import de.opengamebackend.auth.model.repositories.RoleRepository;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class RoleRegistryTests {
+    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        roleRepository = mock(RoleRepository.class);
+        roleRegistry = new RoleRegistry(roleRepository, mock(PlayerCache.class));
+    }
+
+    @Test
+    public void givenRoles_whenInvalidate_thenReturnRoles() {
+        // GIVEN
+        Role role = new Role("testRole");
+        when(roleRepository.findAll()).thenReturn(Lists.list(role));
+
+        // WHEN
+        roleRegistry.invalidate();
+
+        // THEN
+        assertThat(roleRegistry.getRole("testRole")).isSameAs(role);
+    }
+
+    @Test
+    public void givenInvalidated_whenGetRole_thenDoesNotQueryRoles() {
+        // GIVEN
+        when(roleRepository.findAll()).thenReturn(Lists.list(new Role("testRole")));
+        roleRegistry.invalidate();
+
+        // WHEN
+        roleRegistry.getRole("testRole");
+
+        // THEN
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void whenGetUnknownRole_thenReturnNull() {
+        assertThat(roleRegistry.getRole("unknownRole")).isNull();
+        assertThat(roleRegistry.getRole(null)).isNull();
+    }
+}
@@ -0,0 +1,112 @@
+package de.opengamebackend.auth.model;
+
+import de.opengamebackend.auth.model.entities.SecretKey;
+import de.opengamebackend.auth.model.repositories.SecretKeyRepository;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SecretKeyIndexTests {
+    private SecretKeyRepository secretKeyRepository;
+    private SecretKeyIndex secretKeyIndex;
+
+    private String testKey;
+    private SecretKey testSecretKey;
+
+    @BeforeEach
+    public void setUp() {
+        secretKeyRepository = mock(SecretKeyRepository.class);
+        secretKeyIndex = new SecretKeyIndex(secretKeyRepository, new SecretKeyIndexConfig(60000));
+
+        testKey = SecretKeys.generate();
+        testSecretKey = new SecretKey(SecretKeys.keyId(testKey), SecretKeys.hash(testKey));
+    }
+
+    @Test
+    public void givenStoredKey_whenReload_thenContainsKey() {
+        // GIVEN
+        when(secretKeyRepository.findAll()).thenReturn(Lists.list(testSecretKey));
+
+        // WHEN
+        secretKeyIndex.reload();
+
+        // THEN
+        assertThat(secretKeyIndex.contains(testKey)).isTrue();
+        assertThat(secretKeyIndex.contains(SecretKeys.generate())).isFalse();
+    }
+
+    @Test
+    public void givenRemovedKey_whenReload_thenDoesNotContainKey() {
+        // GIVEN
+        secretKeyIndex.add(testSecretKey);
+        when(secretKeyRepository.findAll()).thenReturn(Lists.list());
+
+        // WHEN
+        secretKeyIndex.reload();
+
+        // THEN
+        assertThat(secretKeyIndex.contains(testKey)).isFalse();
+    }
+
+    @Test
+    public void whenAdd_thenContainsKey() {
+        // WHEN
+        secretKeyIndex.add(testSecretKey);
+
+        // THEN
+        assertThat(secretKeyIndex.contains(testKey)).isTrue();
+    }
+
+    @Test
+    public void givenKey_whenRemove_thenDoesNotContainKey() {
+        // GIVEN
+        secretKeyIndex.add(testSecretKey);
+
+        // WHEN
+        secretKeyIndex.remove(testSecretKey.getKeyId());
+
+        // THEN
+        assertThat(secretKeyIndex.contains(testKey)).isFalse();
+    }
+
+    @Test
+    public void givenKey_whenContainsOtherKeyWithSameId_thenReturnFalse() {
+        // GIVEN
+        secretKeyIndex.add(testSecretKey);
+
+        // WHEN & THEN
+        assertThat(secretKeyIndex.contains(testSecretKey.getKeyId() + "otherSecret")).isFalse();
+    }
+
+    @Test
+    public void givenKey_whenContainsKeyId_thenReturnFalse() {
+        // GIVEN
+        secretKeyIndex.add(testSecretKey);
+
+        // WHEN & THEN
+        assertThat(secretKeyIndex.contains(testSecretKey.getKeyId())).isFalse();
+    }
+
+    @Test
+    public void whenContainsNull_thenReturnFalse() {
+        assertThat(secretKeyIndex.contains(null)).isFalse();
+    }
+
+    @Test
+    public void whenConfigureTasks_thenScheduleReloadWithRefreshInterval() {
+        // GIVEN
+        ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+
+        // WHEN
+        secretKeyIndex.configureTasks(taskRegistrar);
+
+        // THEN
+        assertThat(taskRegistrar.getFixedDelayTaskList()).hasSize(1);
+        assertThat(taskRegistrar.getFixedDelayTaskList().get(0).getInterval()).isEqualTo(60000L);
+    }
+}
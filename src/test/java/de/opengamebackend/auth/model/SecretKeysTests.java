@@ -0,0 +1,52 @@
+package de.opengamebackend.auth.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SecretKeysTests {
+    @Test
+    public void whenGenerate_thenReturnUniqueKeysWithIds() {
+        // WHEN
+        String key1 = SecretKeys.generate();
+        String key2 = SecretKeys.generate();
+
+        // THEN
+        assertThat(key1).isNotEqualTo(key2);
+        assertThat(SecretKeys.keyId(key1)).hasSize(SecretKeys.KEY_ID_LENGTH);
+        assertThat(SecretKeys.keyId(key1)).isNotEqualTo(SecretKeys.keyId(key2));
+    }
+
+    @Test
+    public void givenKeyId_whenKeyId_thenReturnKeyId() {
+        // GIVEN
+        String keyId = SecretKeys.keyId(SecretKeys.generate());
+
+        // WHEN & THEN
+        assertThat(SecretKeys.keyId(keyId)).isEqualTo(keyId);
+    }
+
+    @Test
+    public void givenShortKey_whenKeyId_thenReturnNull() {
+        assertThat(SecretKeys.keyId("short")).isNull();
+        assertThat(SecretKeys.keyId(null)).isNull();
+    }
+
+    @Test
+    public void givenLegacyKey_whenMatches_thenReturnTrue() {
+        // GIVEN
+        String key = UUID.randomUUID().toString()
+                .concat(UUID.randomUUID().toString())
+                .concat(UUID.randomUUID().toString());
+
+        // WHEN
+        byte[] hash = SecretKeys.hash(key);
+
+        // THEN
+        assertThat(hash).hasSize(SecretKeys.HASH_LENGTH);
+        assertThat(SecretKeys.matches(hash, key)).isTrue();
+        assertThat(SecretKeys.matches(hash, key.substring(1))).isFalse();
+    }
+}
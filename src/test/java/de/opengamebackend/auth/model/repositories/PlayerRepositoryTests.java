@@ -1,16 +1,22 @@
 package de.opengamebackend.auth.model.repositories;
 
+import de.opengamebackend.auth.model.AuthRole;
+import de.opengamebackend.auth.model.RoleMask;
 import de.opengamebackend.auth.model.entities.Player;
-import de.opengamebackend.auth.model.entities.Role;
+import de.opengamebackend.auth.model.responses.GetAdminsResponseAdmin;
+import de.opengamebackend.auth.model.responses.GetPlayersResponsePlayer;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -27,22 +33,19 @@ public class PlayerRepositoryTests {
     }
 
     @Test
-    public void givenPlayerWithRole_whenFindByRoles_thenReturnPlayer() {
+    public void givenPlayerWithRole_whenFindByRole_thenReturnPlayer() {
         // GIVEN
-        Role role = new Role("testRole");
-        entityManager.persist(role);
-
         Player player = new Player();
-        player.setId("testId");
+        player.setId(playerId(0));
         player.setProvider("testProvider");
         player.setProviderUserId("testProviderUserId");
-        player.setRoles(Lists.list(role));
+        player.setRoleMask(RoleMask.of(AuthRole.ROLE_USER));
         entityManager.persist(player);
 
         entityManager.flush();
 
         // WHEN
-        List<Player> playersWithRole = playerRepository.findByRoles(role);
+        List<Player> playersWithRole = playerRepository.findByRole(AuthRole.ROLE_USER, Pageable.unpaged());
 
         // THEN
         assertThat(playersWithRole).isNotNull();
@@ -50,11 +53,73 @@ public class PlayerRepositoryTests {
         assertThat(playersWithRole.get(0)).isEqualTo(player);
     }
 
+    @Test
+    public void givenPlayersWithRole_whenFindPlayersByRoleAfter_thenReturnNextPlayers() {
+        // GIVEN
+        for (int i = 0; i < 5; ++i) {
+            Player player = new Player();
+            player.setId(playerId(i));
+            player.setProvider("testProvider");
+            player.setProviderUserId("testProviderUserId" + i);
+            player.setRoleMask(RoleMask.of(AuthRole.ROLE_USER));
+            entityManager.persist(player);
+        }
+
+        entityManager.flush();
+
+        // WHEN
+        List<GetPlayersResponsePlayer> players = playerRepository.findPlayersByRoleAfter(AuthRole.ROLE_USER, playerId(1),
+                PageRequest.of(0, 2));
+
+        // THEN
+        assertThat(players).extracting(GetPlayersResponsePlayer::getPlayerId).containsExactly(playerId(2), playerId(3));
+    }
+
+    @Test
+    public void givenPlayerWithRole_whenExistsByRole_thenReturnTrue() {
+        // GIVEN
+        Player player = new Player();
+        player.setId(playerId(0));
+        player.setProvider("testProvider");
+        player.setProviderUserId("testProviderUserId");
+        player.setRoleMask(RoleMask.of(AuthRole.ROLE_USER));
+        entityManager.persist(player);
+
+        entityManager.flush();
+
+        // WHEN & THEN
+        assertThat(playerRepository.existsByRole(AuthRole.ROLE_USER)).isTrue();
+        assertThat(playerRepository.existsByRole(AuthRole.ROLE_ADMIN)).isFalse();
+    }
+
+    @Test
+    public void givenPlayerWithRole_whenFindAdminsByRole_thenReturnAdmin() {
+        // GIVEN
+        Player player = new Player();
+        player.setId(playerId(0));
+        player.setProvider("testProvider");
+        player.setProviderUserId("testProviderUserId");
+        player.setLocked(true);
+        player.setRoleMask(RoleMask.of(AuthRole.ROLE_ADMIN));
+        entityManager.persist(player);
+
+        entityManager.flush();
+
+        // WHEN
+        List<GetAdminsResponseAdmin> admins = playerRepository.findAdminsByRole(AuthRole.ROLE_ADMIN);
+
+        // THEN
+        assertThat(admins).hasSize(1);
+        assertThat(admins.get(0).getProvider()).isEqualTo(player.getProvider());
+        assertThat(admins.get(0).getProviderUserId()).isEqualTo(player.getProviderUserId());
+        assertThat(admins.get(0).isLocked()).isTrue();
+    }
+
     @Test
     public void givenPlayer_whenFindByUserIdAndProvider_thenReturnPlayer() {
         // GIVEN
         Player player = new Player();
-        player.setId("testId");
+        player.setId(playerId(0));
         player.setProvider("testProvider");
         player.setProviderUserId("testProviderUserId");
         entityManager.persist(player);
@@ -68,4 +133,111 @@ public class PlayerRepositoryTests {
         assertThat(found).isPresent();
         assertThat(found.get()).isEqualTo(player);
     }
+
+    @Test
+    public void givenPlayerWithRoles_whenCountByRole_thenCountPlayersHavingRole() {
+        // GIVEN
+        int[] roleMasks = {
+                RoleMask.of(AuthRole.ROLE_USER),
+                RoleMask.of(AuthRole.ROLE_USER) | RoleMask.of(AuthRole.ROLE_ADMIN),
+                RoleMask.of(AuthRole.ROLE_SERVER)
+        };
+
+        for (int i = 0; i < roleMasks.length; ++i) {
+            Player player = new Player();
+            player.setId(playerId(i));
+            player.setProvider("testProvider");
+            player.setProviderUserId("testProviderUserId" + i);
+            player.setRoleMask(roleMasks[i]);
+            entityManager.persist(player);
+        }
+
+        entityManager.flush();
+
+        // WHEN & THEN
+        assertThat(playerRepository.countByRole(AuthRole.ROLE_USER)).isEqualTo(2);
+        assertThat(playerRepository.countByRole(AuthRole.ROLE_ADMIN)).isEqualTo(1);
+        assertThat(playerRepository.countByRole(AuthRole.ROLE_SERVER)).isEqualTo(1);
+    }
+
+    @Test
+    public void givenPlayers_whenUpdateLocked_thenLockMatchingPlayers() {
+        // GIVEN
+        for (int i = 0; i < 3; ++i) {
+            Player player = new Player();
+            player.setId(playerId(i));
+            player.setProvider("testProvider");
+            player.setProviderUserId("testProviderUserId" + i);
+            entityManager.persist(player);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> providerUserIds = Lists.list("testProviderUserId0", "testProviderUserId2", "missingProviderUserId");
+
+        // WHEN
+        List<String> found = playerRepository.findProviderUserIds("testProvider", providerUserIds);
+        int updated = playerRepository.updateLocked("testProvider", providerUserIds, true);
+
+        // THEN
+        assertThat(found).containsExactlyInAnyOrder("testProviderUserId0", "testProviderUserId2");
+        assertThat(updated).isEqualTo(2);
+
+        assertThat(entityManager.find(Player.class, UUID.fromString(playerId(0))).isLocked()).isTrue();
+        assertThat(entityManager.find(Player.class, UUID.fromString(playerId(1))).isLocked()).isFalse();
+        assertThat(entityManager.find(Player.class, UUID.fromString(playerId(2))).isLocked()).isTrue();
+    }
+
+    @Test
+    public void givenNewPlayer_whenInsertIfAbsent_thenInsertPlayer() {
+        // GIVEN
+        Player player = new Player();
+        player.setId(playerId(0));
+        player.setProvider("testProvider");
+        player.setProviderUserId("testProviderUserId");
+        player.setLocked(true);
+        player.setRoleMask(RoleMask.of(AuthRole.ROLE_USER));
+
+        // WHEN
+        boolean inserted = playerRepository.insertIfAbsent(player);
+
+        // THEN
+        assertThat(inserted).isTrue();
+
+        entityManager.clear();
+        Player found = entityManager.find(Player.class, UUID.fromString(player.getId()));
+
+        assertThat(found).isNotNull();
+        assertThat(found.getProvider()).isEqualTo(player.getProvider());
+        assertThat(found.getProviderUserId()).isEqualTo(player.getProviderUserId());
+        assertThat(found.isLocked()).isTrue();
+        assertThat(found.getRoleMask()).isEqualTo(RoleMask.of(AuthRole.ROLE_USER));
+    }
+
+    @Test
+    public void givenExistingPlayer_whenInsertIfAbsent_thenSkipPlayer() {
+        // GIVEN
+        Player existingPlayer = new Player();
+        existingPlayer.setId(playerId(0));
+        existingPlayer.setProvider("testProvider");
+        existingPlayer.setProviderUserId("testProviderUserId");
+        entityManager.persistAndFlush(existingPlayer);
+
+        Player player = new Player();
+        player.setId(playerId(1));
+        player.setProvider(existingPlayer.getProvider());
+        player.setProviderUserId(existingPlayer.getProviderUserId());
+
+        // WHEN
+        boolean inserted = playerRepository.insertIfAbsent(player);
+
+        // THEN
+        assertThat(inserted).isFalse();
+        assertThat(playerRepository.count()).isEqualTo(1);
+    }
+
+    private static String playerId(int index) {
+        return new UUID(0, index).toString();
+    }
 }
@@ -0,0 +1,64 @@
+package de.opengamebackend.auth.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalRateLimiterTests {
+    private static final RateLimit LIMIT = new RateLimit(2, 1);
+
+    private AtomicLong time;
+    private LocalRateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        time = new AtomicLong();
+        rateLimiter = new LocalRateLimiter(1024, time::get);
+    }
+
+    @Test
+    public void givenNewKey_whenTryAcquire_thenAllowBurst() {
+        // WHEN & THEN
+        assertThat(rateLimiter.tryAcquire("key", LIMIT)).isTrue();
+        assertThat(rateLimiter.tryAcquire("key", LIMIT)).isTrue();
+        assertThat(rateLimiter.tryAcquire("key", LIMIT)).isFalse();
+        assertThat(rateLimiter.tryAcquire("otherKey", LIMIT)).isTrue();
+    }
+
+    @Test
+    public void givenExceededLimit_whenTimePasses_thenAllowAgain() {
+        // GIVEN
+        rateLimiter.tryAcquire("key", LIMIT);
+        rateLimiter.tryAcquire("key", LIMIT);
+
+        // WHEN
+        time.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // THEN
+        assertThat(rateLimiter.tryAcquire("key", LIMIT)).isTrue();
+        assertThat(rateLimiter.tryAcquire("key", LIMIT)).isFalse();
+    }
+
+    @Test
+    public void givenExceededLimit_whenTryAcquireWithOtherLimit_thenUseSeparateBucket() {
+        // GIVEN
+        rateLimiter.tryAcquire("key", LIMIT);
+        rateLimiter.tryAcquire("key", LIMIT);
+
+        // WHEN & THEN
+        assertThat(rateLimiter.tryAcquire("key", new RateLimit(1, 1))).isTrue();
+    }
+
+    @Test
+    public void givenEqualLimits_whenTryAcquire_thenShareBucket() {
+        // GIVEN
+        rateLimiter.tryAcquire("key", new RateLimit(1, 1));
+
+        // WHEN & THEN
+        assertThat(rateLimiter.tryAcquire("key", new RateLimit(1, 1))).isFalse();
+    }
+}
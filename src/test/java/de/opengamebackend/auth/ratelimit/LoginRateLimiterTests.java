@@ -0,0 +1,74 @@
+package de.opengamebackend.auth.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class LoginRateLimiterTests {
+    @Test
+    public void givenExceededAddressLimit_whenCheck_thenThrowException() {
+        // GIVEN
+        LoginRateLimiter loginRateLimiter = createLoginRateLimiter(true, 1, 10);
+        loginRateLimiter.check("127.0.0.1", "testProvider", "key1");
+
+        // WHEN & THEN
+        assertThatExceptionOfType(RateLimitExceededException.class)
+                .isThrownBy(() -> loginRateLimiter.check("127.0.0.1", "testProvider", "key2"));
+        assertThatCode(() -> loginRateLimiter.check("127.0.0.2", "testProvider", "key2"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void givenExceededIdentityLimit_whenCheck_thenThrowException() {
+        // GIVEN
+        LoginRateLimiter loginRateLimiter = createLoginRateLimiter(true, 10, 1);
+        loginRateLimiter.check("127.0.0.1", "testProvider", "key");
+
+        // WHEN & THEN
+        assertThatExceptionOfType(RateLimitExceededException.class)
+                .isThrownBy(() -> loginRateLimiter.check("127.0.0.2", "testProvider", "key"));
+        assertThatCode(() -> loginRateLimiter.check("127.0.0.2", "otherProvider", "key"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void whenCheck_thenDoNotPassCredentialsToRateLimiter() {
+        // GIVEN
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+        when(rateLimiter.tryAcquire(any(), any())).thenReturn(true);
+
+        LoginRateLimitConfig config = new LoginRateLimitConfig(true, "local", 1, 0, 1, 0, 1024);
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter(rateLimiter, config);
+
+        // WHEN
+        loginRateLimiter.check("127.0.0.1", "testProvider", "secretKey");
+
+        // THEN
+        ArgumentCaptor<String> argumentCaptor = ArgumentCaptor.forClass(String.class);
+        verify(rateLimiter, times(2)).tryAcquire(argumentCaptor.capture(), any());
+
+        assertThat(argumentCaptor.getAllValues()).noneMatch(key -> key.contains("secretKey"));
+    }
+
+    @Test
+    public void givenDisabled_whenCheck_thenDoNotThrowException() {
+        // GIVEN
+        LoginRateLimiter loginRateLimiter = createLoginRateLimiter(false, 1, 1);
+        loginRateLimiter.check("127.0.0.1", "testProvider", "key");
+
+        // WHEN & THEN
+        assertThatCode(() -> loginRateLimiter.check("127.0.0.1", "testProvider", "key"))
+                .doesNotThrowAnyException();
+    }
+
+    private LoginRateLimiter createLoginRateLimiter(boolean enabled, int addressBurst, int identityBurst) {
+        LoginRateLimitConfig config = new LoginRateLimitConfig(enabled, "local", addressBurst, 0, identityBurst, 0,
+                1024);
+        return new LoginRateLimiter(new LocalRateLimiter(config), config);
+    }
+}
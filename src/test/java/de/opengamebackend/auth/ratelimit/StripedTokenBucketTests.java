@@ -0,0 +1,77 @@
+package de.opengamebackend.auth.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedTokenBucketTests {
+    private AtomicLong clock;
+    private StripedTokenBucket bucket;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new AtomicLong();
+        bucket = new StripedTokenBucket(1024, 2, 1, clock::get);
+    }
+
+    @Test
+    public void givenFullBucket_whenTryConsume_thenConsumeUpToCapacity() {
+        // WHEN & THEN
+        assertThat(bucket.tryConsume("source")).isTrue();
+        assertThat(bucket.tryConsume("source")).isTrue();
+        assertThat(bucket.tryConsume("source")).isFalse();
+    }
+
+    @Test
+    public void givenEmptyBucket_whenTimePasses_thenRefill() {
+        // GIVEN
+        bucket.tryConsume("source");
+        bucket.tryConsume("source");
+
+        // WHEN
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // THEN
+        assertThat(bucket.tryConsume("source")).isTrue();
+        assertThat(bucket.tryConsume("source")).isFalse();
+    }
+
+    @Test
+    public void givenEmptyBucket_whenTryConsumeForOtherSource_thenReturnTrue() {
+        // GIVEN
+        bucket.tryConsume("source");
+        bucket.tryConsume("source");
+
+        // WHEN & THEN
+        assertThat(bucket.tryConsume("otherSource")).isTrue();
+    }
+
+    @Test
+    public void givenEmptyBucket_whenRefund_thenConsumeAgain() {
+        // GIVEN
+        bucket.tryConsume("source");
+        bucket.tryConsume("source");
+
+        // WHEN
+        bucket.refund("source");
+
+        // THEN
+        assertThat(bucket.tryConsume("source")).isTrue();
+        assertThat(bucket.tryConsume("source")).isFalse();
+    }
+
+    @Test
+    public void givenFullBucket_whenRefund_thenDoNotExceedCapacity() {
+        // WHEN
+        bucket.refund("source");
+
+        // THEN
+        assertThat(bucket.tryConsume("source")).isTrue();
+        assertThat(bucket.tryConsume("source")).isTrue();
+        assertThat(bucket.tryConsume("source")).isFalse();
+    }
+}